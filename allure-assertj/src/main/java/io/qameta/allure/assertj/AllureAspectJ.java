@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 import static java.util.Objects.nonNull;
@@ -39,7 +39,7 @@ public class AllureAspectJ {
         final String name = joinPoint.getArgs().length > 0
                 ? String.format("%s \'%s\'", methodSignature.getName(), arrayToString(joinPoint.getArgs()))
                 : methodSignature.getName();
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = generateId();
         final StepResult result = new StepResult()
                 .withName(name);
         getLifecycle().startStep(uuid, result);
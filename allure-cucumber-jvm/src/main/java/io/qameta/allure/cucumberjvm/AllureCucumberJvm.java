@@ -21,7 +21,6 @@ import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.util.ResultsUtils;
-import java.io.ByteArrayInputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -129,7 +128,7 @@ public class AllureCucumberJvm implements Reporter, Formatter {
             }
             final StepResult stepResult = new StepResult();
             stepResult.withName(String.format("%s %s", step.getKeyword(), getStepName(step)))
-                    .withStart(System.currentTimeMillis());
+                    .withStart(lifecycle.getClock().currentTimeMillis());
 
             lifecycle.startStep(currentScenario.getId(), stepUtils.getStepUuid(step), stepResult);
             createDataTableAttachment(step.getRows());
@@ -207,10 +206,8 @@ public class AllureCucumberJvm implements Reporter, Formatter {
                 dataTableCsv.append('\n');
             });
 
-            final String attachmentSource = lifecycle
-                    .prepareAttachment("Data table", "text/tab-separated-values", "csv");
-            lifecycle.writeAttachment(attachmentSource,
-                    new ByteArrayInputStream(dataTableCsv.toString().getBytes(Charset.forName("UTF-8"))));
+            lifecycle.addAttachment("Data table", "text/tab-separated-values", "csv",
+                    dataTableCsv.toString().getBytes(Charset.forName("UTF-8")));
         }
     }
 
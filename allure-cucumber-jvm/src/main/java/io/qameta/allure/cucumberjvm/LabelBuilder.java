@@ -16,11 +16,11 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 import static io.qameta.allure.util.ResultsUtils.createFeatureLabel;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.createSeverityLabel;
 import static io.qameta.allure.util.ResultsUtils.createStoryLabel;
 import static io.qameta.allure.util.ResultsUtils.createTagLabel;
-import static io.qameta.allure.util.ResultsUtils.getHostName;
-import static io.qameta.allure.util.ResultsUtils.getThreadName;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 
 /**
  * Scenario labels and links builder.
@@ -91,11 +91,11 @@ class LabelBuilder {
             }
         }
 
-        getScenarioLabels().add(new Label().withName("host").withValue(getHostName()));
+        getScenarioLabels().add(createHostLabel());
         getScenarioLabels().add(new Label().withName("package").withValue(feature.getName()));
         getScenarioLabels().add(new Label().withName("suite").withValue(feature.getName()));
         getScenarioLabels().add(new Label().withName("testClass").withValue(scenario.getName()));
-        getScenarioLabels().add(new Label().withName("thread").withValue(getThreadName()));
+        getScenarioLabels().add(createThreadLabel());
 
     }
 
@@ -53,10 +53,11 @@ class StepUtils {
     }
 
     protected void fireCanceledStep(final Step unimplementedStep) {
+        final long now = lifecycle.getClock().currentTimeMillis();
         final StepResult stepResult = new StepResult();
         stepResult.withName(unimplementedStep.getName())
-                .withStart(System.currentTimeMillis())
-                .withStop(System.currentTimeMillis())
+                .withStart(now)
+                .withStop(now)
                 .withStatus(Status.SKIPPED)
                 .withStatusDetails(new StatusDetails().withMessage("Unimplemented step"));
         lifecycle.startStep(scenario.getId(), getStepUuid(unimplementedStep), stepResult);
@@ -84,11 +85,12 @@ class StepUtils {
 
     protected void fireFixtureStep(final Match match, final Result result, final boolean isBefore) {
         final String uuid = Utils.md5(match.getLocation());
+        final long now = lifecycle.getClock().currentTimeMillis();
         final StepResult stepResult = new StepResult()
                 .withName(match.getLocation())
                 .withStatus(Status.fromValue(result.getStatus()))
-                .withStart(System.currentTimeMillis() - result.getDuration())
-                .withStop(System.currentTimeMillis());
+                .withStart(now - result.getDuration())
+                .withStop(now);
         if (FAILED.equals(result.getStatus())) {
             final StatusDetails statusDetails = ResultsUtils.getStatusDetails(result.getError()).get();
             stepResult.withStatusDetails(statusDetails);
@@ -33,7 +33,6 @@ import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.util.ResultsUtils;
 
-import java.io.ByteArrayInputStream;
 import java.nio.charset.Charset;
 import java.util.Deque;
 import java.util.LinkedList;
@@ -41,11 +40,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
+
 /**
  * Allure plugin for Cucumber JVM 2.0.
  */
@@ -154,7 +154,7 @@ public class AllureCucumber2Jvm implements Formatter {
 
             final StepResult stepResult = new StepResult()
                     .withName(String.format("%s %s", stepKeyword, event.testStep.getPickleStep().getText()))
-                    .withStart(System.currentTimeMillis());
+                    .withStart(lifecycle.getClock().currentTimeMillis());
 
             lifecycle.startStep(getTestCaseUuid(currentTestCase), getStepUuid(event.testStep), stepResult);
 
@@ -165,7 +165,7 @@ public class AllureCucumber2Jvm implements Formatter {
         } else if (event.testStep.isHook() && event.testStep instanceof UnskipableStep) {
             final StepResult stepResult = new StepResult()
                     .withName(event.testStep.getHookType().toString())
-                    .withStart(System.currentTimeMillis());
+                    .withStart(lifecycle.getClock().currentTimeMillis());
 
             lifecycle.startStep(getTestCaseUuid(currentTestCase), getHookStepUuid(event.testStep), stepResult);
         }
@@ -184,7 +184,7 @@ public class AllureCucumber2Jvm implements Formatter {
      */
 
     private String getTestCaseUuid(final TestCase testCase) {
-        return scenarioUuids.computeIfAbsent(getHistoryId(testCase), it -> UUID.randomUUID().toString());
+        return scenarioUuids.computeIfAbsent(getHistoryId(testCase), it -> generateId());
     }
 
     private String getStepUuid(final TestStep step) {
@@ -242,10 +242,8 @@ public class AllureCucumber2Jvm implements Formatter {
                 dataTableCsv.append('\n');
             });
 
-            final String attachmentSource = lifecycle
-                    .prepareAttachment("Data table", "text/tab-separated-values", "csv");
-            lifecycle.writeAttachment(attachmentSource,
-                    new ByteArrayInputStream(dataTableCsv.toString().getBytes(Charset.forName("UTF-8"))));
+            lifecycle.addAttachment("Data table", "text/tab-separated-values", "csv",
+                    dataTableCsv.toString().getBytes(Charset.forName("UTF-8")));
         }
     }
 
@@ -20,8 +20,8 @@ import static io.qameta.allure.util.ResultsUtils.createSeverityLabel;
 import static io.qameta.allure.util.ResultsUtils.createTmsLink;
 import static io.qameta.allure.util.ResultsUtils.createIssueLink;
 import static io.qameta.allure.util.ResultsUtils.createLink;
-import static io.qameta.allure.util.ResultsUtils.getHostName;
-import static io.qameta.allure.util.ResultsUtils.getThreadName;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static io.qameta.allure.util.ResultsUtils.createTagLabel;
 
 /**
@@ -93,11 +93,11 @@ class LabelBuilder {
             }
         }
 
-        getScenarioLabels().add(new Label().withName("host").withValue(getHostName()));
+        getScenarioLabels().add(createHostLabel());
         getScenarioLabels().add(new Label().withName("package").withValue(feature.getName()));
         getScenarioLabels().add(new Label().withName("suite").withValue(feature.getName()));
         getScenarioLabels().add(new Label().withName("testClass").withValue(scenario.getName()));
-        getScenarioLabels().add(new Label().withName("thread").withValue(getThreadName()));
+        getScenarioLabels().add(createThreadLabel());
 
     }
 
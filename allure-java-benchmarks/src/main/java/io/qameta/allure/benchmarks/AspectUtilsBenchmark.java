@@ -0,0 +1,78 @@
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.util.AspectUtils;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of step method arguments to parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AspectUtilsBenchmark {
+
+    @Param({"strings", "arrays", "large"})
+    public String arguments;
+
+    public MethodSignature signature;
+
+    public Object[] args;
+
+    @Setup
+    public void setUp() {
+        switch (arguments) {
+            case "arrays":
+                args = new Object[]{new String[]{"a", "b", "c"}, new Integer[]{1, 2, 3}};
+                break;
+            case "large":
+                final Integer[] large = new Integer[10_000];
+                Arrays.fill(large, 42);
+                args = new Object[]{large, "value"};
+                break;
+            default:
+                args = new Object[]{"first", "second"};
+                break;
+        }
+        signature = signature("step", "first", "second");
+    }
+
+    @Benchmark
+    public Parameter[] getParameters() {
+        return AspectUtils.getParameters(signature, args);
+    }
+
+    private static MethodSignature signature(final String name, final String... parameterNames) {
+        return (MethodSignature) Proxy.newProxyInstance(
+                AspectUtilsBenchmark.class.getClassLoader(),
+                new Class<?>[]{MethodSignature.class},
+                (proxy, method, methodArgs) -> {
+                    switch (method.getName()) {
+                        case "getParameterNames":
+                            return parameterNames.clone();
+                        case "getName":
+                            return name;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
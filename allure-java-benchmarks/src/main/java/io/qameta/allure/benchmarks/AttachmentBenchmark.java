@@ -0,0 +1,72 @@
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.qameta.allure.id.IdGenerators.generateId;
+
+/**
+ * Measures adding attachments of different size to the running step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttachmentBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    public AllureLifecycle lifecycle;
+
+    public TestResult result;
+
+    public StepResult step;
+
+    public byte[] body;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        body = new byte[size];
+        new Random(size).nextBytes(body);
+        lifecycle = new AllureLifecycle(new NoopResultsWriter());
+        result = new TestResult().withUuid(generateId());
+        lifecycle.scheduleTestCase(result);
+        lifecycle.startTestCase(result.getUuid());
+        step = new StepResult().withName("step");
+        lifecycle.startStep(generateId(), step);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        lifecycle.stopStep();
+        lifecycle.stopTestCase(result.getUuid());
+        lifecycle.writeTestCase(result.getUuid());
+    }
+
+    @Benchmark
+    public StepResult addAttachment() {
+        lifecycle.addAttachment("attachment", "application/octet-stream", "bin", body);
+        step.getAttachments().clear();
+        return step;
+    }
+}
@@ -0,0 +1,109 @@
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.qameta.allure.id.IdGenerators.generateId;
+
+/**
+ * Measures the cost of starting, updating and stopping nested steps.
+ * The score is the time of the whole tree of {@code depth} steps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleStepsBenchmark {
+
+    /**
+     * Lifecycle shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class LifecycleState {
+
+        public AllureLifecycle lifecycle;
+
+        @Setup
+        public void setUp() {
+            lifecycle = new AllureLifecycle(new NoopResultsWriter());
+        }
+    }
+
+    /**
+     * Running test of the benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class TestState {
+
+        @Param({"1", "5", "20"})
+        public int depth;
+
+        public String[] uuids;
+
+        public TestResult result;
+
+        private AllureLifecycle lifecycle;
+
+        @Setup(Level.Iteration)
+        public void setUp(final LifecycleState state) {
+            lifecycle = state.lifecycle;
+            uuids = new String[depth];
+            for (int i = 0; i < depth; i++) {
+                uuids[i] = generateId();
+            }
+            result = new TestResult().withUuid(generateId());
+            lifecycle.scheduleTestCase(result);
+            lifecycle.startTestCase(result.getUuid());
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            result.getSteps().clear();
+            lifecycle.stopTestCase(result.getUuid());
+            lifecycle.writeTestCase(result.getUuid());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TestResult stepsSingleThread(final LifecycleState state, final TestState test) {
+        return steps(state.lifecycle, test);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TestResult stepsFourThreads(final LifecycleState state, final TestState test) {
+        return steps(state.lifecycle, test);
+    }
+
+    private static TestResult steps(final AllureLifecycle lifecycle, final TestState test) {
+        for (String uuid : test.uuids) {
+            lifecycle.startStep(uuid, new StepResult().withName("step"));
+        }
+        for (int i = test.uuids.length - 1; i >= 0; i--) {
+            lifecycle.updateStep(test.uuids[i], step -> step.setStatus(Status.PASSED));
+            lifecycle.stopStep(test.uuids[i]);
+        }
+        test.result.getSteps().clear();
+        return test.result;
+    }
+}
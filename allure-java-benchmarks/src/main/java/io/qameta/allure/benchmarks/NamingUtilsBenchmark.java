@@ -0,0 +1,84 @@
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.util.NamingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures step name template processing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamingUtilsBenchmark {
+
+    @Param({
+            "Open main page",
+            "Login as {login}",
+            "Login as {user.name} with {user.password} in {0}",
+            "Check emails {user.emails.address} of {user.name}"
+    })
+    public String template;
+
+    public Map<String, Object> params;
+
+    @Setup
+    public void setUp() {
+        params = new HashMap<>();
+        params.put("login", "admin");
+        params.put("user", new User("admin", "secret", new Email("a@example.com"), new Email("b@example.com")));
+        params.put("0", "chrome");
+        params.put("method", "login");
+    }
+
+    @Benchmark
+    public String processNameTemplate() {
+        return NamingUtils.processNameTemplate(template, params);
+    }
+
+    /**
+     * Sample step parameter.
+     */
+    public static class User {
+
+        private final String name;
+
+        private final String password;
+
+        private final Email[] emails;
+
+        public User(final String name, final String password, final Email... emails) {
+            this.name = name;
+            this.password = password;
+            this.emails = emails;
+        }
+    }
+
+    /**
+     * Sample nested step parameter.
+     */
+    public static class Email {
+
+        private final String address;
+
+        public Email(final String address) {
+            this.address = address;
+        }
+    }
+}
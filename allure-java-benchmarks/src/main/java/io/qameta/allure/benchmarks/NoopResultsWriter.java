@@ -0,0 +1,39 @@
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Writer that discards results. Attachment streams are fully read, so the
+ * cost of copying the attachment body is still measured.
+ */
+public class NoopResultsWriter implements AllureResultsWriter {
+
+    private final byte[] buffer = new byte[8192];
+
+    @Override
+    public void write(final TestResult testResult) {
+        //do nothing
+    }
+
+    @Override
+    public void write(final TestResultContainer testResultContainer) {
+        //do nothing
+    }
+
+    @Override
+    public void write(final String source, final InputStream attachment) {
+        try (InputStream stream = attachment) {
+            while (stream.read(buffer) != -1) {
+                //skip content
+            }
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not read attachment " + source, e);
+        }
+    }
+}
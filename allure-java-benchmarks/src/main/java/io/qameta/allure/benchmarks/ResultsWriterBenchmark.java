@@ -0,0 +1,131 @@
+package io.qameta.allure.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Allure2ModelJackson;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.writer.LinkingResultsWriter;
+import io.qameta.allure.writer.ResultsJsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.AllureConstants.TEST_RESULT_FILE_SUFFIX;
+import static io.qameta.allure.id.IdGenerators.generateId;
+
+/**
+ * Measures writing of test results with different number of steps to the file system,
+ * and the serialization alone into a reused in-memory buffer.
+ * The same result is written on each invocation and the result file is deleted after
+ * the write, since the Jackson based writer does not overwrite existing files.
+ * The {@code jackson} serializer is the default one, the {@code streaming} serializer
+ * is {@link io.qameta.allure.writer.ResultsJsonSerializer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultsWriterBenchmark {
+
+    @Param({"0", "10", "1000"})
+    public int steps;
+
+    @Param({"jackson", "streaming"})
+    public String serializer;
+
+    public Path directory;
+
+    public AllureResultsWriter writer;
+
+    public TestResult result;
+
+    public Path resultFile;
+
+    public ObjectMapper mapper;
+
+    public ResultsJsonSerializer jsonSerializer;
+
+    public ByteArrayOutputStream buffer;
+
+    public boolean streaming;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("allure-benchmark");
+        streaming = "streaming".equals(serializer);
+        mapper = Allure2ModelJackson.createMapper();
+        jsonSerializer = new ResultsJsonSerializer();
+        buffer = new ByteArrayOutputStream();
+        writer = streaming
+                ? new LinkingResultsWriter(directory, false, true)
+                : new FileSystemResultsWriter(directory);
+        result = new TestResult()
+                .withUuid(generateId())
+                .withName("test")
+                .withFullName("io.qameta.allure.benchmarks.ResultsWriterBenchmark.test")
+                .withStatus(Status.PASSED)
+                .withStage(Stage.FINISHED)
+                .withStart(System.currentTimeMillis())
+                .withStop(System.currentTimeMillis());
+        result.getLabels().add(new Label().withName("suite").withValue("benchmarks"));
+        for (int i = 0; i < steps; i++) {
+            final StepResult step = new StepResult().withName("step " + i);
+            step.setStatus(Status.PASSED);
+            step.getParameters().add(new Parameter().withName("index").withValue(String.valueOf(i)));
+            step.getAttachments().add(new Attachment().withName("log").withSource(generateId()));
+            result.getSteps().add(step);
+        }
+        resultFile = directory.resolve(result.getUuid() + TEST_RESULT_FILE_SUFFIX);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public TestResult write() throws IOException {
+        writer.write(result);
+        Files.delete(resultFile);
+        return result;
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        buffer.reset();
+        if (streaming) {
+            jsonSerializer.write(result, buffer);
+        } else {
+            mapper.writeValue(buffer, result);
+        }
+        return buffer.size();
+    }
+}
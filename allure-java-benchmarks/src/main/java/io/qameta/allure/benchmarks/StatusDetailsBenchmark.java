@@ -0,0 +1,55 @@
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.util.ResultsUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures status details creation for exceptions with different stack depth.
+ * Traces are rendered lazily, so the trace is measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusDetailsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int stackDepth;
+
+    public Throwable throwable;
+
+    @Setup
+    public void setUp() {
+        throwable = new IllegalStateException("failure", fail(stackDepth));
+    }
+
+    @Benchmark
+    public Optional<StatusDetails> getStatusDetails() {
+        return ResultsUtils.getStatusDetails(throwable);
+    }
+
+    @Benchmark
+    public Optional<String> getStatusDetailsWithTrace() {
+        return ResultsUtils.getStatusDetails(throwable).map(StatusDetails::getTrace);
+    }
+
+    private static Throwable fail(final int depth) {
+        return depth <= 0 ? new AssertionError("expected: <1> but was: <2>") : fail(depth - 1);
+    }
+}
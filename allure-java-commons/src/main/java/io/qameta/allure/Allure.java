@@ -2,15 +2,13 @@ package io.qameta.allure;
 
 import io.qameta.allure.model.Label;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
-import static java.util.concurrent.CompletableFuture.supplyAsync;
-
 /**
  * The class contains some useful methods to work with {@link AllureLifecycle}.
  */
@@ -72,6 +70,10 @@ public final class Allure {
         getLifecycle().addAttachment(name, type, fileExtension, content);
     }
 
+    public static void addAttachment(final String name, final String type, final Path file) {
+        getLifecycle().addAttachment(name, type, file);
+    }
+
     public static CompletableFuture<byte[]> addByteAttachmentAsync(
             final String name, final String type, final Supplier<byte[]> body) {
         return addByteAttachmentAsync(name, type, "", body);
@@ -79,9 +81,7 @@ public final class Allure {
 
     public static CompletableFuture<byte[]> addByteAttachmentAsync(
             final String name, final String type, final String fileExtension, final Supplier<byte[]> body) {
-        final String source = getLifecycle().prepareAttachment(name, type, fileExtension);
-        return supplyAsync(body).whenComplete((result, ex) ->
-                getLifecycle().writeAttachment(source, new ByteArrayInputStream(result)));
+        return getLifecycle().addByteAttachmentAsync(name, type, fileExtension, body);
     }
 
     public static CompletableFuture<InputStream> addStreamAttachmentAsync(
@@ -91,8 +91,7 @@ public final class Allure {
 
     public static CompletableFuture<InputStream> addStreamAttachmentAsync(
             final String name, final String type, final String fileExtension, final Supplier<InputStream> body) {
-        final String source = lifecycle.prepareAttachment(name, type, fileExtension);
-        return supplyAsync(body).whenComplete((result, ex) -> lifecycle.writeAttachment(source, result));
+        return getLifecycle().addStreamAttachmentAsync(name, type, fileExtension, body);
     }
 
     public static void setLifecycle(final AllureLifecycle lifecycle) {
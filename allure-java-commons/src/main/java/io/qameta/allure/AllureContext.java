@@ -0,0 +1,124 @@
+package io.qameta.allure;
+
+import io.qameta.allure.internal.StepContext;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot of Allure step context of the thread. Allows to propagate the context
+ * to other threads, e.g. thread pool workers, so steps started there are attached
+ * to the right parent:
+ * <pre>
+ * final AllureContext context = AllureContext.capture();
+ * executor.execute(() -&gt; {
+ *     final AllureContext previous = context.restore();
+ *     try {
+ *         ...
+ *     } finally {
+ *         previous.restore();
+ *     }
+ * });
+ * </pre>
+ * or simply <pre>executor.execute(AllureContext.capture().wrap(task))</pre>.
+ *
+ * @see io.qameta.allure.context.AllureContextExecutor
+ * @see io.qameta.allure.context.AllureContextExecutorService
+ * @see io.qameta.allure.context.AllureContextFutures
+ * @since 2.7
+ */
+public final class AllureContext {
+
+    private final AllureLifecycle lifecycle;
+
+    private final StepContext steps;
+
+    AllureContext(final AllureLifecycle lifecycle, final StepContext steps) {
+        this.lifecycle = lifecycle;
+        this.steps = steps;
+    }
+
+    /**
+     * Captures the context of the current thread from the default lifecycle.
+     */
+    public static AllureContext capture() {
+        return capture(Allure.getLifecycle());
+    }
+
+    /**
+     * Captures the context of the current thread from given lifecycle.
+     *
+     * @param lifecycle the lifecycle to capture context from.
+     */
+    public static AllureContext capture(final AllureLifecycle lifecycle) {
+        Objects.requireNonNull(lifecycle, "Can't capture context: lifecycle can't be null");
+        return lifecycle.captureContext();
+    }
+
+    /**
+     * Returns true if there is no running test, fixture or step in the context.
+     */
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Installs the context to the current thread.
+     *
+     * @return the context of the current thread that was replaced.
+     */
+    public AllureContext restore() {
+        return lifecycle.restoreContext(steps);
+    }
+
+    /**
+     * Returns the task that runs given one within this context.
+     *
+     * @param task the task to wrap.
+     */
+    public Runnable wrap(final Runnable task) {
+        return () -> {
+            final AllureContext previous = restore();
+            try {
+                task.run();
+            } finally {
+                previous.restore();
+            }
+        };
+    }
+
+    /**
+     * Returns the task that runs given one within this context.
+     *
+     * @param task the task to wrap.
+     * @param <T>  the type of the task result.
+     */
+    public <T> Callable<T> wrapCallable(final Callable<T> task) {
+        return () -> {
+            final AllureContext previous = restore();
+            try {
+                return task.call();
+            } finally {
+                previous.restore();
+            }
+        };
+    }
+
+    /**
+     * Returns the supplier that runs given one within this context.
+     *
+     * @param supplier the supplier to wrap.
+     * @param <T>      the type of the supplier result.
+     */
+    public <T> Supplier<T> wrapSupplier(final Supplier<T> supplier) {
+        return () -> {
+            final AllureContext previous = restore();
+            try {
+                return supplier.get();
+            } finally {
+                previous.restore();
+            }
+        };
+    }
+}
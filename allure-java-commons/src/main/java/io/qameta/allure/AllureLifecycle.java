@@ -1,62 +1,267 @@
 package io.qameta.allure;
 
+import io.qameta.allure.clock.Clock;
+import io.qameta.allure.clock.MonotonicClock;
 import io.qameta.allure.internal.AllureStorage;
+import io.qameta.allure.internal.AsyncAttachmentExecutor;
+import io.qameta.allure.internal.AttachmentDeduplicator;
+import io.qameta.allure.internal.ItemHandle;
+import io.qameta.allure.internal.StepAggregator;
+import io.qameta.allure.internal.StepContext;
+import io.qameta.allure.internal.StepSpillStore;
 import io.qameta.allure.listener.ContainerLifecycleListener;
 import io.qameta.allure.listener.FixtureLifecycleListener;
 import io.qameta.allure.listener.LifecycleNotifier;
 import io.qameta.allure.listener.StepLifecycleListener;
 import io.qameta.allure.listener.TestLifecycleListener;
 import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
 import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Stage;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
-import io.qameta.allure.model.WithAttachments;
-import io.qameta.allure.util.PropertiesUtils;
+import io.qameta.allure.model.WithSteps;
+import io.qameta.allure.util.AllureConfiguration;
+import io.qameta.allure.util.LazyParameter;
+import io.qameta.allure.util.LazyStatusDetails;
+import io.qameta.allure.util.ParameterFormatter;
+import io.qameta.allure.writer.ArchiveResultsWriter;
+import io.qameta.allure.writer.AsyncResultsWriter;
+import io.qameta.allure.writer.AttachmentStreamsWriter;
+import io.qameta.allure.writer.CompressingResultsWriter;
+import io.qameta.allure.writer.FileAttachmentsWriter;
+import io.qameta.allure.writer.LinkingResultsWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.qameta.allure.AllureConstants.ATTACHMENT_FILE_SUFFIX;
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.ServiceLoaderUtils.load;
 
 /**
  * The class contains Allure context and methods to change it.
  */
-@SuppressWarnings("PMD.TooManyMethods")
+@SuppressWarnings({
+        "ClassFanOutComplexity", "ClassDataAbstractionCoupling",
+        "PMD.GodClass", "PMD.ExcessiveImports", "PMD.TooManyMethods",
+        "PMD.ExcessiveClassLength"
+})
 public class AllureLifecycle {
 
+    /**
+     * Enables nanosecond precision step durations, stored in
+     * {@link #STEP_DURATION_NANOS_PARAMETER} step parameter.
+     */
+    public static final String STEP_DURATION_NANOS_PROPERTY = "allure.step.durationNanos";
+
+    public static final String STEP_DURATION_NANOS_PARAMETER = "durationNanos";
+
+    /**
+     * Enables tracking of time spent in lifecycle listeners.
+     */
+    public static final String LISTENERS_TIMING_PROPERTY = "allure.listeners.timing";
+
+    /**
+     * Number of threads used to notify {@link io.qameta.allure.listener.AsyncLifecycleListener}s.
+     */
+    public static final String LISTENERS_ASYNC_THREADS_PROPERTY = "allure.listeners.async.threads";
+
+    /**
+     * Maximum number of steps of a test or fixture kept in memory. Finished steps
+     * above the limit are spilled to disk until the result is written. Disabled by default.
+     */
+    public static final String STEPS_SPILL_THRESHOLD_PROPERTY = "allure.steps.spill.threshold";
+
+    /**
+     * Directory for step spill files, the system temporary directory by default.
+     */
+    public static final String STEPS_SPILL_DIRECTORY_PROPERTY = "allure.steps.spill.directory";
+
+    /**
+     * Enables merging of consecutive identical passed steps into summary steps.
+     */
+    public static final String STEPS_AGGREGATE_PROPERTY = "allure.steps.aggregate";
+
+    /**
+     * Enables content-addressed attachments: identical attachments added with
+     * {@code addAttachment} methods share the same source and are written only once.
+     */
+    public static final String ATTACHMENTS_DEDUPLICATE_PROPERTY = "allure.attachments.deduplicate";
+
+    /**
+     * Number of threads used to run asynchronous attachments.
+     */
+    public static final String ATTACHMENTS_ASYNC_THREADS_PROPERTY = "allure.attachments.async.threads";
+
+    /**
+     * Maximum number of queued asynchronous attachments. If the queue is full,
+     * the attachment is run in the caller thread.
+     */
+    public static final String ATTACHMENTS_ASYNC_QUEUE_SIZE_PROPERTY = "allure.attachments.async.queueSize";
+
+    /**
+     * Maximum time in seconds to wait for asynchronous attachments of a test or fixture.
+     */
+    public static final String ATTACHMENTS_ASYNC_TIMEOUT_PROPERTY = "allure.attachments.async.timeout";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AllureLifecycle.class);
 
+    private final AllureConfiguration configuration;
+
     private final AllureResultsWriter writer;
 
     private final AllureStorage storage;
 
     private final LifecycleNotifier notifier;
 
+    private final Clock clock;
+
+    private final boolean stepDurationNanos;
+
+    private final StepSpillStore spillStore;
+
+    private final StepAggregator aggregator;
+
+    private final AttachmentDeduplicator deduplicator;
+
+    private final int attachmentThreads;
+
+    private final int attachmentQueueSize;
+
+    private final long attachmentTimeoutSeconds;
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile AsyncAttachmentExecutor attachmentExecutor;
+
+    private Thread shutdownHook;
+
     public AllureLifecycle() {
         this(getDefaultWriter());
     }
 
     public AllureLifecycle(final AllureResultsWriter writer) {
+        this(writer, getDefaultClock());
+    }
+
+    public AllureLifecycle(final AllureResultsWriter writer, final Clock clock) {
         final ClassLoader classLoader = getClass().getClassLoader();
+        this.configuration = AllureConfiguration.getInstance();
         this.notifier = new LifecycleNotifier(
                 load(ContainerLifecycleListener.class, classLoader),
                 load(TestLifecycleListener.class, classLoader),
                 load(FixtureLifecycleListener.class, classLoader),
-                load(StepLifecycleListener.class, classLoader)
+                load(StepLifecycleListener.class, classLoader),
+                configuration.getBoolean(LISTENERS_TIMING_PROPERTY, false),
+                configuration.getInt(LISTENERS_ASYNC_THREADS_PROPERTY, LifecycleNotifier.DEFAULT_ASYNC_THREADS)
         );
         this.writer = writer;
+        this.clock = Objects.requireNonNull(clock, "Clock can't be null");
         this.storage = new AllureStorage();
+        this.stepDurationNanos = configuration.getBoolean(STEP_DURATION_NANOS_PROPERTY, false);
+        this.spillStore = getSpillStore(configuration);
+        this.aggregator = configuration.getBoolean(STEPS_AGGREGATE_PROPERTY, false)
+                ? new StepAggregator(STEP_DURATION_NANOS_PARAMETER)
+                : null;
+        this.deduplicator = configuration.getBoolean(ATTACHMENTS_DEDUPLICATE_PROPERTY, false)
+                ? new AttachmentDeduplicator(getResultsDirectory(configuration))
+                : null;
+        this.attachmentThreads = configuration.getPositiveInt(ATTACHMENTS_ASYNC_THREADS_PROPERTY, 2);
+        this.attachmentQueueSize = configuration.getPositiveInt(ATTACHMENTS_ASYNC_QUEUE_SIZE_PROPERTY, 256);
+        this.attachmentTimeoutSeconds = configuration.getLong(ATTACHMENTS_ASYNC_TIMEOUT_PROPERTY, 60);
+        if (writer instanceof AutoCloseable || notifier.hasAsyncListeners()) {
+            addShutdownHook();
+        }
+    }
+
+    /**
+     * Returns the configuration this lifecycle was created with.
+     */
+    public AllureConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Returns the clock used to stamp results. Adapters should use it for
+     * the timestamps they set, so all the timestamps come from the same source.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns cumulative time in nanoseconds spent in each lifecycle listener.
+     * The timing is collected only if {@link #LISTENERS_TIMING_PROPERTY} is enabled.
+     */
+    public Map<String, Long> getListenerTimings() {
+        return notifier.getListenerTimings();
+    }
+
+    /**
+     * Blocks until asynchronous lifecycle listeners are notified about all the
+     * events happened before this call.
+     */
+    public void awaitAsyncListeners() {
+        notifier.awaitAsyncListeners();
+    }
+
+    /**
+     * Completes asynchronous attachments and listener notifications, then closes
+     * the results writer, so queued results are written and compressed or archived.
+     * The shutdown is run on JVM shutdown if needed; it can be called earlier,
+     * once all the results are written.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void shutdown() {
+        final AsyncAttachmentExecutor executor = attachmentExecutor;
+        if (Objects.nonNull(executor)) {
+            executor.close();
+        }
+        notifier.close();
+        if (writer instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) writer).close();
+            } catch (Exception e) {
+                LOGGER.error("Could not close Allure results writer", e);
+            }
+        }
+        removeShutdownHook();
+    }
+
+    @SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
+    private synchronized void addShutdownHook() {
+        if (Objects.isNull(shutdownHook)) {
+            shutdownHook = new Thread(this::shutdown, "allure-lifecycle-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    @SuppressWarnings({"PMD.NullAssignment", "PMD.AvoidSynchronizedAtMethodLevel"})
+    private synchronized void removeShutdownHook() {
+        if (Objects.nonNull(shutdownHook) && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                LOGGER.debug("JVM shutdown is already in progress", e);
+            }
+            shutdownHook = null;
+        }
     }
 
     public void startTestContainer(final String parentUuid, final TestResultContainer container) {
@@ -66,7 +271,7 @@ public class AllureLifecycle {
 
     public void startTestContainer(final TestResultContainer container) {
         notifier.beforeContainerStart(container);
-        container.setStart(System.currentTimeMillis());
+        container.setStart(clock.currentTimeMillis());
         storage.addContainer(container);
         notifier.afterContainerStart(container);
     }
@@ -82,39 +287,53 @@ public class AllureLifecycle {
     public void stopTestContainer(final String uuid) {
         storage.getContainer(uuid).ifPresent(container -> {
             notifier.beforeContainerStop(container);
-            container.setStop(System.currentTimeMillis());
+            container.setStop(clock.currentTimeMillis());
             notifier.afterContainerUpdate(container);
         });
     }
 
     public void writeTestContainer(final String uuid) {
         storage.removeContainer(uuid).ifPresent(container -> {
+            if (Objects.nonNull(spillStore)) {
+                container.getBefores().forEach(spillStore::restore);
+                container.getAfters().forEach(spillStore::restore);
+            }
+            if (ParameterFormatter.getDefault().isLazy()) {
+                container.getBefores().forEach(LazyParameter::renderAll);
+                container.getAfters().forEach(LazyParameter::renderAll);
+            }
+            container.getBefores().forEach(LazyStatusDetails::renderAll);
+            container.getAfters().forEach(LazyStatusDetails::renderAll);
             notifier.beforeContainerWrite(container);
-            writer.write(container);
-            notifier.afterContainerWrite(container);
+            if (writer instanceof AsyncResultsWriter) {
+                ((AsyncResultsWriter) writer).write(container, () -> notifier.afterContainerWrite(container));
+            } else {
+                writer.write(container);
+                notifier.afterContainerWrite(container);
+            }
         });
     }
 
     public void startPrepareFixture(final String parentUuid, final String uuid, final FixtureResult result) {
-        notifier.beforeFixtureStart(result);
+        notifier.beforeFixtureStart(uuid, result);
         updateTestContainer(parentUuid, container -> container.getBefores().add(result));
         startFixture(uuid, result);
-        notifier.afterFixtureStart(result);
+        notifier.afterFixtureStart(uuid, result);
     }
 
     public void startTearDownFixture(final String parentUuid, final String uuid, final FixtureResult result) {
-        notifier.beforeFixtureStart(result);
+        notifier.beforeFixtureStart(uuid, result);
         updateTestContainer(parentUuid, container -> container.getAfters().add(result));
         startFixture(uuid, result);
-        notifier.afterFixtureStart(result);
+        notifier.afterFixtureStart(uuid, result);
     }
 
     private void startFixture(final String uuid, final FixtureResult result) {
-        storage.addFixture(uuid, result);
+        final ItemHandle<FixtureResult> handle = storage.addFixture(uuid, result);
         result.setStage(Stage.RUNNING);
-        result.setStart(System.currentTimeMillis());
+        result.setStart(clock.currentTimeMillis());
         storage.clearStepContext();
-        storage.startStep(uuid);
+        storage.startStep(handle);
     }
 
     public void updateFixture(final Consumer<FixtureResult> update) {
@@ -123,19 +342,26 @@ public class AllureLifecycle {
 
     public void updateFixture(final String uuid, final Consumer<FixtureResult> update) {
         storage.getFixture(uuid).ifPresent(fixture -> {
-            notifier.beforeFixtureUpdate(fixture);
+            notifier.beforeFixtureUpdate(uuid, fixture);
             update.accept(fixture);
-            notifier.afterFixtureUpdate(fixture);
+            notifier.afterFixtureUpdate(uuid, fixture);
         });
     }
 
     public void stopFixture(final String uuid) {
         storage.removeFixture(uuid).ifPresent(fixture -> {
-            notifier.beforeFixtureStop(fixture);
+            awaitAttachments(uuid);
+            notifier.beforeFixtureStop(uuid, fixture);
             storage.clearStepContext();
             fixture.setStage(Stage.FINISHED);
-            fixture.setStop(System.currentTimeMillis());
-            notifier.afterFixtureStop(fixture);
+            fixture.setStop(clock.currentTimeMillis());
+            if (Objects.nonNull(aggregator)) {
+                aggregator.rootStopped(uuid);
+            }
+            if (Objects.nonNull(spillStore)) {
+                spillStore.restore(fixture);
+            }
+            notifier.afterFixtureStop(uuid, fixture);
         });
     }
 
@@ -156,15 +382,18 @@ public class AllureLifecycle {
     }
 
     public void startTestCase(final String uuid) {
-        storage.getTestResult(uuid).ifPresent(testResult -> {
-            notifier.beforeTestStart(testResult);
-            testResult
-                    .withStage(Stage.RUNNING)
-                    .withStart(System.currentTimeMillis());
-            storage.clearStepContext();
-            storage.startStep(uuid);
-            notifier.afterTestStart(testResult);
-        });
+        final ItemHandle<TestResult> handle = storage.getTestResultHandle(uuid);
+        if (Objects.isNull(handle)) {
+            return;
+        }
+        final TestResult testResult = handle.getItem();
+        notifier.beforeTestStart(testResult);
+        testResult
+                .withStage(Stage.RUNNING)
+                .withStart(clock.currentTimeMillis());
+        storage.clearStepContext();
+        storage.startStep(handle);
+        notifier.afterTestStart(testResult);
     }
 
     public void updateTestCase(final Consumer<TestResult> update) {
@@ -185,85 +414,297 @@ public class AllureLifecycle {
             notifier.beforeTestStop(testResult);
             testResult
                     .withStage(Stage.FINISHED)
-                    .withStop(System.currentTimeMillis());
+                    .withStop(clock.currentTimeMillis());
             storage.clearStepContext();
+            if (Objects.nonNull(aggregator)) {
+                aggregator.rootStopped(uuid);
+            }
             notifier.afterTestStop(testResult);
         });
     }
 
     public void writeTestCase(final String uuid) {
         storage.removeTestResult(uuid).ifPresent(testResult -> {
-            notifier.beforeTestWrite(testResult);
-            writer.write(testResult);
-            notifier.afterTestWrite(testResult);
+            awaitAttachments(uuid);
+            try (StepSpillStore.SpillFile ignored = restoreSteps(testResult)) {
+                if (ParameterFormatter.getDefault().isLazy()) {
+                    LazyParameter.renderAll(testResult);
+                }
+                LazyStatusDetails.renderAll(testResult);
+                notifier.beforeTestWrite(testResult);
+                if (writer instanceof AsyncResultsWriter) {
+                    ((AsyncResultsWriter) writer).write(testResult, () -> notifier.afterTestWrite(testResult));
+                } else {
+                    writer.write(testResult);
+                    notifier.afterTestWrite(testResult);
+                }
+            }
         });
     }
 
+    /**
+     * Restores spilled steps of the test. If the writer serializes steps one by one,
+     * the spilled steps are loaded while the test is written instead, so listeners
+     * see {@link StepSpillStore.SpilledStep} placeholders. The spill file of the test
+     * is removed from the store in any case, and is deleted when the returned file
+     * is closed.
+     */
+    @SuppressWarnings("ReturnCount")
+    private StepSpillStore.SpillFile restoreSteps(final TestResult testResult) {
+        if (Objects.isNull(spillStore)) {
+            return StepSpillStore.NO_SPILL_FILE;
+        }
+        if (writer instanceof ArchiveResultsWriter
+                || writer instanceof LinkingResultsWriter && ((LinkingResultsWriter) writer).isStreamingJson()) {
+            return spillStore.detach(testResult);
+        }
+        spillStore.restore(testResult);
+        return StepSpillStore.NO_SPILL_FILE;
+    }
+
     public void startStep(final String uuid, final StepResult result) {
-        storage.getCurrentStep().ifPresent(parentUuid -> startStep(parentUuid, uuid, result));
+        final ItemHandle<? extends ExecutableItem> parent = storage.getCurrentHandle();
+        if (Objects.nonNull(parent)) {
+            startStep(parent, uuid, result);
+        }
     }
 
     public void startStep(final String parentUuid, final String uuid, final StepResult result) {
-        notifier.beforeStepStart(result);
+        startStep(storage.getItemHandle(parentUuid), uuid, result);
+    }
+
+    private void startStep(final ItemHandle<? extends ExecutableItem> parent,
+                           final String uuid, final StepResult result) {
+        final String rootUuid = Objects.isNull(parent) ? uuid : parent.getRootUuid();
+        notifier.beforeStepStart(rootUuid, result);
         result.setStage(Stage.RUNNING);
-        result.setStart(System.currentTimeMillis());
-        storage.startStep(uuid);
-        storage.addStep(parentUuid, uuid, result);
-        notifier.afterStepStart(result);
+        result.setStart(clock.currentTimeMillis());
+        final ItemHandle<StepResult> handle = storage.addStep(parent, uuid, result, clock.nanoTime());
+        if (Objects.nonNull(spillStore)) {
+            spillStore.stepStarted(getItem(storage.getRootHandle()), getItem(parent), result);
+        }
+        storage.startStep(handle);
+        notifier.afterStepStart(rootUuid, result);
     }
 
     public void updateStep(final Consumer<StepResult> update) {
-        storage.getCurrentStep().ifPresent(uuid -> updateStep(uuid, update));
+        final ItemHandle<? extends ExecutableItem> current = storage.getCurrentHandle();
+        if (Objects.nonNull(current)) {
+            updateStep(current.getUuid(), update);
+        }
     }
 
     public void updateStep(final String uuid, final Consumer<StepResult> update) {
-        storage.getStep(uuid).ifPresent(step -> {
-            notifier.beforeStepUpdate(step);
-            update.accept(step);
-            notifier.afterStepUpdate(step);
-        });
+        final ItemHandle<StepResult> handle = storage.getStepHandle(uuid);
+        if (Objects.isNull(handle)) {
+            return;
+        }
+        final StepResult step = handle.getItem();
+        notifier.beforeStepUpdate(handle.getRootUuid(), step);
+        update.accept(step);
+        notifier.afterStepUpdate(handle.getRootUuid(), step);
     }
 
     public void stopStep() {
-        storage.getCurrentStep().ifPresent(this::stopStep);
+        final ItemHandle<? extends ExecutableItem> current = storage.getCurrentHandle();
+        if (Objects.nonNull(current)) {
+            stopStep(current.getUuid());
+        }
     }
 
     public void stopStep(final String uuid) {
-        storage.removeStep(uuid).ifPresent(step -> {
-            notifier.beforeStepStop(step);
-            step.setStage(Stage.FINISHED);
-            step.setStop(System.currentTimeMillis());
-            storage.stopStep();
-            notifier.afterStepStop(step);
-        });
+        final ItemHandle<StepResult> handle = storage.removeStepHandle(uuid);
+        if (Objects.isNull(handle)) {
+            return;
+        }
+        final StepResult step = handle.getItem();
+        final String rootUuid = handle.getRootUuid();
+        notifier.beforeStepStop(rootUuid, step);
+        step.setStage(Stage.FINISHED);
+        step.setStop(clock.currentTimeMillis());
+        if (stepDurationNanos && handle.getStartNanos() != 0) {
+            step.getParameters().add(new Parameter()
+                    .withName(STEP_DURATION_NANOS_PARAMETER)
+                    .withValue(Long.toString(clock.nanoTime() - handle.getStartNanos())));
+        }
+        storage.stopStep();
+        notifier.afterStepStop(rootUuid, step);
+        boolean merged = false;
+        if (Objects.nonNull(aggregator)) {
+            aggregator.parentStopped(rootUuid, step);
+            final ItemHandle<? extends WithSteps> parent = handle.getParent();
+            final long duration = handle.getStartNanos() == 0
+                    ? TimeUnit.MILLISECONDS.toNanos(step.getStop() - step.getStart())
+                    : clock.nanoTime() - handle.getStartNanos();
+            if (Objects.nonNull(parent)) {
+                merged = aggregator.stepStopped(rootUuid, parent.getItem(), step, duration);
+            }
+        }
+        if (Objects.nonNull(spillStore)) {
+            final ExecutableItem root = getItem(storage.getRootHandle());
+            if (merged) {
+                spillStore.stepRemoved(root, step);
+            } else {
+                spillStore.stepStopped(root, step);
+            }
+        }
+    }
+
+    /**
+     * Captures the step context of the current thread.
+     *
+     * @see AllureContext
+     */
+    public AllureContext captureContext() {
+        return new AllureContext(this, storage.captureStepContext());
+    }
+
+    @SuppressWarnings({"PMD.DefaultPackage", "PMD.CommentDefaultAccessModifier"})
+    AllureContext restoreContext(final StepContext context) {
+        return new AllureContext(this, storage.restoreStepContext(context));
     }
 
     public void addAttachment(final String name, final String type,
                               final String fileExtension, final byte[] body) {
+        if (Objects.nonNull(deduplicator)) {
+            addAttachmentWithSource(name, type, deduplicator.write(writer, getExtension(fileExtension), body));
+            return;
+        }
         addAttachment(name, type, fileExtension, new ByteArrayInputStream(body));
     }
 
     public void addAttachment(final String name, final String type,
                               final String fileExtension, final InputStream stream) {
+        if (Objects.nonNull(deduplicator)) {
+            addAttachmentWithSource(name, type, deduplicator.write(writer, getExtension(fileExtension), stream));
+            return;
+        }
         writeAttachment(prepareAttachment(name, type, fileExtension), stream);
     }
 
-    @SuppressWarnings({"PMD.NullAssignment", "PMD.UseObjectForClearerAPI"})
+    /**
+     * Adds the attachment from existing file. The file extension is used as the
+     * attachment extension. If the writer supports {@link FileAttachmentsWriter},
+     * the file is written without reading its content into the heap.
+     *
+     * @param name the name of the attachment.
+     * @param type the content type of the attachment.
+     * @param file the attachment file.
+     */
+    public void addAttachment(final String name, final String type, final Path file) {
+        final String fileName = Objects.toString(file.getFileName(), "");
+        final int dot = fileName.lastIndexOf('.');
+        final String fileExtension = dot > 0 ? fileName.substring(dot) : "";
+        if (Objects.nonNull(deduplicator)) {
+            addAttachmentWithSource(name, type, deduplicator.write(writer, fileExtension, file));
+            return;
+        }
+        FileAttachmentsWriter.writeFile(writer, prepareAttachment(name, type, fileExtension), file);
+    }
+
+    /**
+     * Adds the attachment, which body is supplied asynchronously by the attachment
+     * executor. The attachment is added to the current item immediately; the body is
+     * written when it is supplied. The test or fixture is not written until all its
+     * asynchronous attachments are written.
+     *
+     * @param name          the name of the attachment.
+     * @param type          the content type of the attachment.
+     * @param fileExtension the file extension of the attachment.
+     * @param body          the attachment body supplier.
+     */
+    @SuppressWarnings("PMD.UseObjectForClearerAPI")
+    public CompletableFuture<byte[]> addByteAttachmentAsync(final String name, final String type,
+                                                            final String fileExtension,
+                                                            final Supplier<byte[]> body) {
+        return addAttachmentAsync(name, type, fileExtension, body, ByteArrayInputStream::new);
+    }
+
+    /**
+     * Adds the attachment, which body is supplied asynchronously by the attachment executor.
+     *
+     * @param name          the name of the attachment.
+     * @param type          the content type of the attachment.
+     * @param fileExtension the file extension of the attachment.
+     * @param body          the attachment body supplier.
+     * @see #addByteAttachmentAsync(String, String, String, Supplier)
+     */
+    @SuppressWarnings("PMD.UseObjectForClearerAPI")
+    public CompletableFuture<InputStream> addStreamAttachmentAsync(final String name, final String type,
+                                                                   final String fileExtension,
+                                                                   final Supplier<InputStream> body) {
+        return addAttachmentAsync(name, type, fileExtension, body, Function.identity());
+    }
+
+    private <T> CompletableFuture<T> addAttachmentAsync(final String name, final String type,
+                                                        final String fileExtension, final Supplier<T> body,
+                                                        final Function<T, InputStream> content) {
+        final String source = prepareAttachment(name, type, fileExtension);
+        final ItemHandle<? extends ExecutableItem> root = storage.getRootHandle();
+        final String owner = Objects.isNull(root) ? null : root.getUuid();
+        return getAttachmentExecutor().supply(owner, body, (result, ex) -> {
+            if (Objects.isNull(ex)) {
+                writeAttachment(source, content.apply(result));
+            } else {
+                LOGGER.error("Could not get body of attachment {}", source, ex);
+            }
+        });
+    }
+
+    private AsyncAttachmentExecutor getAttachmentExecutor() {
+        AsyncAttachmentExecutor executor = attachmentExecutor;
+        if (Objects.isNull(executor)) {
+            synchronized (this) {
+                executor = attachmentExecutor;
+                if (Objects.isNull(executor)) {
+                    executor = new AsyncAttachmentExecutor(attachmentThreads, attachmentQueueSize);
+                    attachmentExecutor = executor;
+                    addShutdownHook();
+                }
+            }
+        }
+        return executor;
+    }
+
+    private void awaitAttachments(final String uuid) {
+        final AsyncAttachmentExecutor executor = attachmentExecutor;
+        if (Objects.nonNull(executor)) {
+            executor.await(uuid, attachmentTimeoutSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Adds the attachment to the current item and opens the stream to write its content.
+     * The content is written directly to the results and becomes visible when the
+     * stream is closed. The stream should be closed by the caller.
+     *
+     * @param name          the name of the attachment.
+     * @param type          the content type of the attachment.
+     * @param fileExtension the file extension of the attachment.
+     */
+    @SuppressWarnings("PMD.UseObjectForClearerAPI")
+    public OutputStream openAttachment(final String name, final String type, final String fileExtension) {
+        return AttachmentStreamsWriter.openAttachment(writer, prepareAttachment(name, type, fileExtension));
+    }
+
+    @SuppressWarnings("PMD.UseObjectForClearerAPI")
     public String prepareAttachment(final String name, final String type, final String fileExtension) {
-        final Optional<String> currentStep = storage.getCurrentStep();
-        currentStep.ifPresent(uuid -> LOGGER.debug("Adding attachment to item with uuid {}", uuid));
-        final String extension = Optional.ofNullable(fileExtension)
-                .filter(ext -> !ext.isEmpty())
-                .map(ext -> ext.charAt(0) == '.' ? ext : "." + ext)
-                .orElse("");
-        final String source = UUID.randomUUID().toString() + ATTACHMENT_FILE_SUFFIX + extension;
+        final String source = generateId() + ATTACHMENT_FILE_SUFFIX + getExtension(fileExtension);
+        return addAttachmentWithSource(name, type, source);
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private String addAttachmentWithSource(final String name, final String type, final String source) {
+        final ItemHandle<? extends ExecutableItem> current = storage.getCurrentHandle();
         final Attachment attachment = new Attachment()
                 .withName(isEmpty(name) ? null : name)
                 .withType(isEmpty(type) ? null : type)
                 .withSource(source);
 
-        currentStep.flatMap(uuid -> storage.get(uuid, WithAttachments.class))
-                .ifPresent(withAttachments -> withAttachments.getAttachments().add(attachment));
+        if (Objects.nonNull(current) && Objects.nonNull(current.getItem())) {
+            LOGGER.debug("Adding attachment to item with uuid {}", current.getUuid());
+            current.getItem().getAttachments().add(attachment);
+        }
         return attachment.getSource();
     }
 
@@ -271,13 +712,71 @@ public class AllureLifecycle {
         writer.write(attachmentSource, stream);
     }
 
+    private static String getExtension(final String fileExtension) {
+        return Optional.ofNullable(fileExtension)
+                .filter(ext -> !ext.isEmpty())
+                .map(ext -> ext.charAt(0) == '.' ? ext : "." + ext)
+                .orElse("");
+    }
+
     private boolean isEmpty(final String s) {
         return Objects.isNull(s) || s.isEmpty();
     }
 
-    private static FileSystemResultsWriter getDefaultWriter() {
-        final Properties properties = PropertiesUtils.loadAllureProperties();
-        final String path = properties.getProperty("allure.results.directory", "allure-results");
-        return new FileSystemResultsWriter(Paths.get(path));
+    private static ExecutableItem getItem(final ItemHandle<? extends ExecutableItem> handle) {
+        return Objects.isNull(handle) ? null : handle.getItem();
+    }
+
+    private static StepSpillStore getSpillStore(final AllureConfiguration configuration) {
+        final int threshold = configuration.getInt(STEPS_SPILL_THRESHOLD_PROPERTY, 0);
+        if (threshold <= 0) {
+            return null;
+        }
+        final String directory = configuration.getProperty(
+                STEPS_SPILL_DIRECTORY_PROPERTY, System.getProperty("java.io.tmpdir"));
+        return new StepSpillStore(Paths.get(directory), threshold);
+    }
+
+    private static Clock getDefaultClock() {
+        final List<Clock> clocks = load(Clock.class, AllureLifecycle.class.getClassLoader());
+        return clocks.isEmpty() ? new MonotonicClock() : clocks.get(0);
+    }
+
+    private static Path getResultsDirectory(final AllureConfiguration configuration) {
+        return Paths.get(configuration.getProperty("allure.results.directory", "allure-results"));
+    }
+
+    @SuppressWarnings("ReturnCount")
+    private static AllureResultsWriter getFileSystemWriter(final AllureConfiguration configuration) {
+        final Path path = getResultsDirectory(configuration);
+        if (configuration.getBoolean("allure.results.archive", false)) {
+            final long segmentSize = configuration.getPositiveLong(
+                    "allure.results.archive.segmentSize", ArchiveResultsWriter.DEFAULT_SEGMENT_SIZE);
+            return new ArchiveResultsWriter(path, segmentSize);
+        }
+        final boolean hardLinks = configuration.getBoolean("allure.results.attachments.hardLinks", false);
+        final boolean streamingJson = configuration.getBoolean("allure.results.json.streaming", false);
+        if (configuration.getBoolean("allure.results.compression", false)) {
+            final long threshold = configuration.getLong(
+                    "allure.results.compression.threshold", CompressingResultsWriter.DEFAULT_THRESHOLD);
+            return new CompressingResultsWriter(path, hardLinks, streamingJson, threshold);
+        }
+        return new LinkingResultsWriter(path, hardLinks, streamingJson);
+    }
+
+    private static AllureResultsWriter getDefaultWriter() {
+        final AllureConfiguration configuration = AllureConfiguration.getInstance();
+        final AllureResultsWriter writer = getFileSystemWriter(configuration);
+        if (!configuration.getBoolean("allure.results.async", false)) {
+            return writer;
+        }
+        final int queueSize = configuration.getPositiveInt(
+                "allure.results.async.queueSize", AsyncResultsWriter.DEFAULT_QUEUE_SIZE);
+        final int batchSize = configuration.getPositiveInt(
+                "allure.results.async.batchSize", AsyncResultsWriter.DEFAULT_BATCH_SIZE);
+        final AsyncResultsWriter.OverflowPolicy policy = configuration.getEnum(
+                "allure.results.async.overflowPolicy", AsyncResultsWriter.OverflowPolicy.class,
+                AsyncResultsWriter.OverflowPolicy.BLOCK);
+        return new AsyncResultsWriter(writer, queueSize, batchSize, policy);
     }
 }
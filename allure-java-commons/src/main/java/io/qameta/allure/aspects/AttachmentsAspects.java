@@ -12,9 +12,6 @@ import org.aspectj.lang.reflect.MethodSignature;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
-import static io.qameta.allure.util.AspectUtils.getParametersMap;
-import static io.qameta.allure.util.NamingUtils.processNameTemplate;
-
 /**
  * Aspects (AspectJ) for handling {@link Attachment}.
  *
@@ -68,14 +65,12 @@ public class AttachmentsAspects {
     @AfterReturning(pointcut = "anyMethod() && withAttachmentAnnotation()", returning = "result")
     public void attachment(final JoinPoint joinPoint, final Object result) {
         final MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        final Attachment attachment = methodSignature.getMethod()
-                .getAnnotation(Attachment.class);
+        final MethodMetadata<Attachment> metadata = MethodMetadata.attachment(methodSignature);
+        final Attachment attachment = metadata.getAnnotation();
         final byte[] bytes = (result instanceof byte[]) ? (byte[]) result : Objects.toString(result)
                 .getBytes(StandardCharsets.UTF_8);
 
-        final String name = attachment.value().isEmpty()
-                ? methodSignature.getName()
-                : processNameTemplate(attachment.value(), getParametersMap(methodSignature, joinPoint.getArgs()));
+        final String name = metadata.getName(joinPoint.getArgs());
         getLifecycle().addAttachment(name, attachment.type(), attachment.fileExtension(), bytes);
     }
 }
@@ -0,0 +1,102 @@
+package io.qameta.allure.aspects;
+
+import io.qameta.allure.Attachment;
+import io.qameta.allure.Step;
+import io.qameta.allure.util.NameTemplate;
+import io.qameta.allure.util.NamingUtils;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Metadata of the intercepted method: the annotation, parameter names and the name
+ * template already bound to the parameters. The metadata is resolved once per method,
+ * so intercepted calls only need to format the arguments. The metadata is cached per
+ * declaring class, so the cache does not keep classes of the tests from unloading.
+ *
+ * @param <A> the type of annotation.
+ */
+final class MethodMetadata<A extends Annotation> {
+
+    private static final ClassValue<Map<Method, MethodMetadata<Step>>> STEPS = new MethodCache<>();
+
+    private static final ClassValue<Map<Method, MethodMetadata<Attachment>>> ATTACHMENTS = new MethodCache<>();
+
+    private final A annotation;
+
+    private final String methodName;
+
+    private final String[] parameterNames;
+
+    private final NameTemplate nameTemplate;
+
+    private MethodMetadata(final MethodSignature signature, final A annotation, final String template) {
+        this.annotation = annotation;
+        this.methodName = signature.getName();
+        this.parameterNames = signature.getParameterNames();
+        this.nameTemplate = Objects.isNull(template) || template.isEmpty()
+                ? null
+                : NamingUtils.getTemplate(template).bind(methodName, parameterNames);
+    }
+
+    public static MethodMetadata<Step> step(final MethodSignature signature) {
+        return get(STEPS, signature, Step.class, Step::value);
+    }
+
+    public static MethodMetadata<Attachment> attachment(final MethodSignature signature) {
+        return get(ATTACHMENTS, signature, Attachment.class, Attachment::value);
+    }
+
+    private static <A extends Annotation> MethodMetadata<A> get(final ClassValue<Map<Method, MethodMetadata<A>>> caches,
+                                                                final MethodSignature signature,
+                                                                final Class<A> annotationType,
+                                                                final Function<A, String> template) {
+        final Method method = signature.getMethod();
+        final Map<Method, MethodMetadata<A>> cache = caches.get(method.getDeclaringClass());
+        final MethodMetadata<A> cached = cache.get(method);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        return cache.computeIfAbsent(method, key -> {
+            final A annotation = key.getAnnotation(annotationType);
+            return new MethodMetadata<>(signature, annotation, template.apply(annotation));
+        });
+    }
+
+    public A getAnnotation() {
+        return annotation;
+    }
+
+    @SuppressWarnings("PMD.MethodReturnsInternalArray")
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Returns the name processed with given arguments, or the method name if
+     * the annotation has no name template.
+     *
+     * @param args the method arguments.
+     */
+    public String getName(final Object... args) {
+        return Objects.isNull(nameTemplate) ? methodName : nameTemplate.format(args);
+    }
+
+    /**
+     * Metadata of the methods declared in the class.
+     *
+     * @param <A> the type of annotation.
+     */
+    private static final class MethodCache<A extends Annotation> extends ClassValue<Map<Method, MethodMetadata<A>>> {
+
+        @Override
+        protected Map<Method, MethodMetadata<A>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
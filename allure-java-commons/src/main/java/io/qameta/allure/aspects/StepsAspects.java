@@ -5,19 +5,15 @@ import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.Step;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
-import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 
 import java.util.Objects;
-import java.util.Optional;
-import java.util.UUID;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.AspectUtils.getParameters;
-import static io.qameta.allure.util.AspectUtils.getParametersMap;
-import static io.qameta.allure.util.NamingUtils.processNameTemplate;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 
@@ -35,17 +31,13 @@ public class StepsAspects {
     @Around("@annotation(io.qameta.allure.Step) && execution(* *(..))")
     public Object step(final ProceedingJoinPoint joinPoint) throws Throwable {
         final MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        final Step step = methodSignature.getMethod().getAnnotation(Step.class);
-
-        final String uuid = UUID.randomUUID().toString();
-        final String name = Optional.of(step.value())
-                .filter(StringUtils::isNoneEmpty)
-                .map(value -> processNameTemplate(value, getParametersMap(methodSignature, joinPoint.getArgs())))
-                .orElse(methodSignature.getName());
+        final MethodMetadata<Step> metadata = MethodMetadata.step(methodSignature);
+        final Object[] args = joinPoint.getArgs();
 
+        final String uuid = generateId();
         final StepResult result = new StepResult()
-                .withName(name)
-                .withParameters(getParameters(methodSignature, joinPoint.getArgs()));
+                .withName(metadata.getName(args))
+                .withParameters(getParameters(metadata.getParameterNames(), args));
         getLifecycle().startStep(uuid, result);
         try {
             final Object proceed = joinPoint.proceed();
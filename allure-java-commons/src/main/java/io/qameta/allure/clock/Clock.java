@@ -0,0 +1,23 @@
+package io.qameta.allure.clock;
+
+/**
+ * Source of timestamps for Allure results. Custom implementations can be
+ * registered using {@link java.util.ServiceLoader}.
+ *
+ * @since 2.7
+ */
+public interface Clock {
+
+    /**
+     * Returns the current wall-clock time in milliseconds since epoch. Used for
+     * start and stop timestamps of results.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Returns the current value of high-resolution monotonic time source in nanoseconds.
+     * Only the difference between two values is meaningful.
+     */
+    long nanoTime();
+
+}
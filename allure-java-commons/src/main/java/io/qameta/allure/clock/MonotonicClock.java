@@ -0,0 +1,32 @@
+package io.qameta.allure.clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default {@link Clock}. Wall-clock time is read only once, when the clock is created,
+ * all the later timestamps are derived from {@link System#nanoTime()}. So timestamps never
+ * go backwards, even if system time is adjusted during the run.
+ *
+ * @since 2.7
+ */
+public class MonotonicClock implements Clock {
+
+    private final long anchorMillis;
+
+    private final long anchorNanos;
+
+    public MonotonicClock() {
+        this.anchorMillis = System.currentTimeMillis();
+        this.anchorNanos = System.nanoTime();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return anchorMillis + TimeUnit.NANOSECONDS.toMillis(nanoTime() - anchorNanos);
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+}
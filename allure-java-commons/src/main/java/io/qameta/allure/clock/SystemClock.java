@@ -0,0 +1,19 @@
+package io.qameta.allure.clock;
+
+/**
+ * {@link Clock} that uses system time for every timestamp.
+ *
+ * @since 2.7
+ */
+public class SystemClock implements Clock {
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,46 @@
+package io.qameta.allure.context;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureContext;
+import io.qameta.allure.AllureLifecycle;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that propagates Allure context of the submitting thread to the tasks.
+ * The context is captured when the task is submitted and removed from the worker
+ * thread when the task is finished.
+ *
+ * @since 2.7
+ */
+public class AllureContextExecutor implements Executor {
+
+    private final Executor delegate;
+
+    private final AllureLifecycle lifecycle;
+
+    public AllureContextExecutor(final Executor delegate) {
+        this(delegate, null);
+    }
+
+    /**
+     * Creates the executor that captures context from given lifecycle.
+     *
+     * @param delegate  the executor to run tasks.
+     * @param lifecycle the lifecycle to capture context from, if null the default lifecycle is used.
+     */
+    public AllureContextExecutor(final Executor delegate, final AllureLifecycle lifecycle) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate executor can't be null");
+        this.lifecycle = lifecycle;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        delegate.execute(capture().wrap(command));
+    }
+
+    protected AllureContext capture() {
+        return AllureContext.capture(Objects.isNull(lifecycle) ? Allure.getLifecycle() : lifecycle);
+    }
+}
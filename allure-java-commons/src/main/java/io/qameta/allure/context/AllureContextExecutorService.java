@@ -0,0 +1,106 @@
+package io.qameta.allure.context;
+
+import io.qameta.allure.AllureContext;
+import io.qameta.allure.AllureLifecycle;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Executor service that propagates Allure context of the submitting thread to the tasks.
+ *
+ * @see AllureContextExecutor
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public class AllureContextExecutorService extends AllureContextExecutor implements ExecutorService {
+
+    private final ExecutorService delegate;
+
+    public AllureContextExecutorService(final ExecutorService delegate) {
+        this(delegate, null);
+    }
+
+    public AllureContextExecutorService(final ExecutorService delegate, final AllureLifecycle lifecycle) {
+        super(delegate, lifecycle);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public <T> Future<T> submit(final Callable<T> task) {
+        return delegate.submit(capture().wrapCallable(task));
+    }
+
+    @Override
+    public <T> Future<T> submit(final Runnable task, final T result) {
+        return delegate.submit(capture().wrap(task), result);
+    }
+
+    @Override
+    public Future<?> submit(final Runnable task) {
+        return delegate.submit(capture().wrap(task));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks)
+            throws InterruptedException {
+        return delegate.invokeAll(wrap(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks,
+                                         final long timeout, final TimeUnit unit) throws InterruptedException {
+        return delegate.invokeAll(wrap(tasks), timeout, unit);
+    }
+
+    @Override
+    public <T> T invokeAny(final Collection<? extends Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        return delegate.invokeAny(wrap(tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return delegate.invokeAny(wrap(tasks), timeout, unit);
+    }
+
+    private <T> List<Callable<T>> wrap(final Collection<? extends Callable<T>> tasks) {
+        final AllureContext context = capture();
+        return tasks.stream()
+                .map(context::wrapCallable)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,38 @@
+package io.qameta.allure.context;
+
+import io.qameta.allure.AllureContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Counterparts of {@link CompletableFuture} factory methods that propagate Allure context
+ * of the calling thread to the async task. To propagate the context to dependent
+ * async stages pass {@link AllureContextExecutor} to <pre>then*Async</pre> methods.
+ *
+ * @since 2.7
+ */
+public final class AllureContextFutures {
+
+    private AllureContextFutures() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier) {
+        return supplyAsync(supplier, ForkJoinPool.commonPool());
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier, final Executor executor) {
+        return CompletableFuture.supplyAsync(AllureContext.capture().wrapSupplier(supplier), executor);
+    }
+
+    public static CompletableFuture<Void> runAsync(final Runnable runnable) {
+        return runAsync(runnable, ForkJoinPool.commonPool());
+    }
+
+    public static CompletableFuture<Void> runAsync(final Runnable runnable, final Executor executor) {
+        return CompletableFuture.runAsync(AllureContext.capture().wrap(runnable), executor);
+    }
+}
@@ -0,0 +1,63 @@
+package io.qameta.allure.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default non-cryptographic {@link IdGenerator}. Each id is composed of random
+ * per-JVM prefix and the sequence number. Threads reserve blocks of sequence
+ * numbers from the shared counter, so ids are generated without contention.
+ * The prefix is taken from {@link SecureRandom} only once per generator, that
+ * keeps ids unique across forked JVMs. Ids are formatted as {@link UUID} strings.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.AccessorMethodGeneration")
+public class FastIdGenerator implements IdGenerator {
+
+    private static final int BLOCK_BITS = 24;
+
+    private static final long BLOCK_SIZE = 1L << BLOCK_BITS;
+
+    private final long prefix;
+
+    private final AtomicLong blocks = new AtomicLong();
+
+    private final ThreadLocal<Sequence> sequence = ThreadLocal.withInitial(Sequence::new);
+
+    public FastIdGenerator() {
+        this(new SecureRandom().nextLong());
+    }
+
+    public FastIdGenerator(final long prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public String generateId() {
+        return new UUID(prefix, sequence.get().next()).toString();
+    }
+
+    private long nextBlock() {
+        return blocks.getAndIncrement() << BLOCK_BITS;
+    }
+
+    /**
+     * Per-thread block of sequence numbers.
+     */
+    private final class Sequence {
+
+        private long block = nextBlock();
+
+        private long index;
+
+        public long next() {
+            if (index == BLOCK_SIZE) {
+                block = nextBlock();
+                index = 0;
+            }
+            return block | index++;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.qameta.allure.id;
+
+/**
+ * Generates unique ids for test results, containers, fixtures, steps and attachments.
+ * Custom implementations can be registered using {@link java.util.ServiceLoader}.
+ * Generated ids should be unique across all the JVMs that write results to
+ * the same results directory.
+ *
+ * @since 2.7
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Returns new unique id.
+     */
+    String generateId();
+
+}
@@ -0,0 +1,48 @@
+package io.qameta.allure.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static io.qameta.allure.util.ServiceLoaderUtils.load;
+
+/**
+ * Provides access to the {@link IdGenerator} loaded using {@link java.util.ServiceLoader}.
+ * If there is no custom implementation, {@link FastIdGenerator} is used.
+ *
+ * @since 2.7
+ */
+public final class IdGenerators {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdGenerators.class);
+
+    private static final IdGenerator GENERATOR = loadGenerator();
+
+    private IdGenerators() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static IdGenerator getGenerator() {
+        return GENERATOR;
+    }
+
+    /**
+     * Shortcut for <pre>getGenerator().generateId()</pre>.
+     */
+    public static String generateId() {
+        return GENERATOR.generateId();
+    }
+
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    private static IdGenerator loadGenerator() {
+        final List<IdGenerator> generators = load(IdGenerator.class, IdGenerators.class.getClassLoader());
+        if (generators.isEmpty()) {
+            return new FastIdGenerator();
+        }
+        if (generators.size() > 1) {
+            LOGGER.warn("Found {} id generators, {} will be used", generators.size(), generators.get(0));
+        }
+        return generators.get(0);
+    }
+}
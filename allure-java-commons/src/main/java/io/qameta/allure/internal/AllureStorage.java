@@ -1,52 +1,100 @@
 package io.qameta.allure.internal;
 
+import io.qameta.allure.model.ExecutableItem;
 import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.model.WithSteps;
 
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Internal Allure data storage.
+ * Internal Allure data storage. Containers, test results, fixtures and steps
+ * are stored in separate maps, and the step context keeps handles of the
+ * running items, so the current item can be accessed without uuid lookups.
+ * Child threads inherit only the uuids of the running items, which are looked
+ * up in the storage, so the threads do not keep the results from being collected.
  *
  * @since 2.0
  */
+@SuppressWarnings({"PMD.GodClass", "PMD.TooManyMethods"})
 public class AllureStorage {
 
-    private final Map<String, Object> storage = new ConcurrentHashMap<>();
+    private final Map<String, TestResultContainer> containers = new ConcurrentHashMap<>();
 
-    @SuppressWarnings("checkstyle:LineLength")
-    private final ThreadLocal<LinkedList<String>> currentStepContext = new InheritableThreadLocal<LinkedList<String>>() {
+    private final Map<String, ItemHandle<TestResult>> testResults = new ConcurrentHashMap<>();
+
+    private final Map<String, ItemHandle<FixtureResult>> fixtures = new ConcurrentHashMap<>();
+
+    private final Map<String, ItemHandle<StepResult>> steps = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StepContext> currentStepContext = new InheritableThreadLocal<StepContext>() {
         @Override
-        public LinkedList<String> initialValue() {
-            return new LinkedList<>();
+        protected StepContext initialValue() {
+            return new StepContext();
+        }
+
+        @Override
+        protected StepContext childValue(final StepContext parentValue) {
+            return parentValue.detach();
         }
     };
 
-    @SuppressWarnings("PMD.NullAssignment")
+    /**
+     * Returns the handle of the current running item (step, fixture or test) or null
+     * if there is no running item in the current thread.
+     */
+    public ItemHandle<? extends ExecutableItem> getCurrentHandle() {
+        return resolve(currentStepContext.get().peek());
+    }
+
     public Optional<String> getCurrentStep() {
-        final LinkedList<String> uids = currentStepContext.get();
-        return uids.isEmpty()
-                ? Optional.empty()
-                : Optional.of(uids.getFirst());
+        return Optional.ofNullable(getCurrentHandle()).map(ItemHandle::getUuid);
     }
 
-    @SuppressWarnings("PMD.NullAssignment")
     public String getRootStep() {
-        final LinkedList<String> uids = currentStepContext.get();
-        return uids.isEmpty()
-                ? null
-                : uids.getLast();
+        final ItemHandle<? extends ExecutableItem> root = getRootHandle();
+        return Objects.isNull(root) ? null : root.getUuid();
+    }
+
+    /**
+     * Returns the handle of the root item (test or fixture) or null if there is
+     * no running item in the current thread.
+     */
+    public ItemHandle<? extends ExecutableItem> getRootHandle() {
+        return resolve(currentStepContext.get().root());
+    }
+
+    /**
+     * Returns the stored handle for the handle inherited from the parent thread,
+     * see {@link StepContext#detach()}. If the item is no longer stored, returns
+     * the given handle without item.
+     */
+    private ItemHandle<? extends ExecutableItem> resolve(final ItemHandle<? extends ExecutableItem> handle) {
+        if (Objects.isNull(handle) || Objects.nonNull(handle.getItem())) {
+            return handle;
+        }
+        final ItemHandle<? extends ExecutableItem> stored = getStoredHandle(handle.getUuid());
+        return Objects.isNull(stored) ? handle : stored;
     }
 
+    public void startStep(final ItemHandle<? extends ExecutableItem> handle) {
+        currentStepContext.get().push(handle);
+    }
+
+    /**
+     * Pushes the item with given uuid to the step context. If there is no such item
+     * in the storage, the handle without item is pushed.
+     *
+     * @param uuid the uuid of the item.
+     */
     public void startStep(final String uuid) {
-        currentStepContext.get().push(uuid);
+        final ItemHandle<? extends ExecutableItem> handle = getItemHandle(uuid);
+        startStep(Objects.isNull(handle) ? new ItemHandle<StepResult>(uuid, null) : handle);
     }
 
     public void stopStep() {
@@ -57,71 +105,212 @@ public class AllureStorage {
         currentStepContext.remove();
     }
 
+    /**
+     * Returns the copy of the step context of the current thread.
+     */
+    public StepContext captureStepContext() {
+        return currentStepContext.get().copy();
+    }
+
+    /**
+     * Replaces the step context of the current thread with the copy of given one.
+     * The empty context is not stored, so the thread does not keep any references
+     * to the results after restoring.
+     *
+     * @param context the context to restore.
+     * @return the replaced context.
+     */
+    @SuppressWarnings("PMD.UnnecessaryLocalBeforeReturn")
+    public StepContext restoreStepContext(final StepContext context) {
+        final StepContext previous = currentStepContext.get();
+        if (context.isEmpty()) {
+            currentStepContext.remove();
+        } else {
+            currentStepContext.set(context.copy());
+        }
+        return previous;
+    }
+
     public Optional<TestResultContainer> getContainer(final String uuid) {
-        return get(uuid, TestResultContainer.class);
+        Objects.requireNonNull(uuid, "Can't get container from storage: uuid can't be null");
+        return Optional.ofNullable(containers.get(uuid));
     }
 
     public void addContainer(final TestResultContainer container) {
-        put(container.getUuid(), container);
+        Objects.requireNonNull(container.getUuid(), "Can't put container to storage: uuid can't be null");
+        containers.put(container.getUuid(), container);
     }
 
     public Optional<TestResultContainer> removeContainer(final String uuid) {
-        return remove(uuid, TestResultContainer.class);
+        Objects.requireNonNull(uuid, "Can't remove container from storage: uuid can't be null");
+        return Optional.ofNullable(containers.remove(uuid));
     }
 
-    public void addTestResult(final TestResult testResult) {
-        put(testResult.getUuid(), testResult);
+    public ItemHandle<TestResult> addTestResult(final TestResult testResult) {
+        final ItemHandle<TestResult> handle = new ItemHandle<>(testResult.getUuid(), testResult);
+        testResults.put(handle.getUuid(), handle);
+        return handle;
+    }
+
+    public ItemHandle<TestResult> getTestResultHandle(final String uuid) {
+        Objects.requireNonNull(uuid, "Can't get test result from storage: uuid can't be null");
+        return testResults.get(uuid);
     }
 
     public Optional<TestResult> getTestResult(final String uuid) {
-        return get(uuid, TestResult.class);
+        return Optional.ofNullable(getTestResultHandle(uuid)).map(ItemHandle::getItem);
     }
 
     public Optional<TestResult> removeTestResult(final String uuid) {
-        return remove(uuid, TestResult.class);
+        Objects.requireNonNull(uuid, "Can't remove test result from storage: uuid can't be null");
+        return Optional.ofNullable(testResults.remove(uuid)).map(ItemHandle::getItem);
     }
 
-    public Optional<FixtureResult> getFixture(final String uuid) {
-        return get(uuid, FixtureResult.class);
+    public ItemHandle<FixtureResult> addFixture(final String uuid, final FixtureResult fixtureResult) {
+        final ItemHandle<FixtureResult> handle = new ItemHandle<>(uuid, fixtureResult);
+        fixtures.put(uuid, handle);
+        return handle;
     }
 
-    public void addFixture(final String uuid, final FixtureResult fixtureResult) {
-        put(uuid, fixtureResult);
+    public ItemHandle<FixtureResult> getFixtureHandle(final String uuid) {
+        Objects.requireNonNull(uuid, "Can't get fixture from storage: uuid can't be null");
+        return fixtures.get(uuid);
+    }
+
+    public Optional<FixtureResult> getFixture(final String uuid) {
+        return Optional.ofNullable(getFixtureHandle(uuid)).map(ItemHandle::getItem);
     }
 
     public Optional<FixtureResult> removeFixture(final String uuid) {
-        return remove(uuid, FixtureResult.class);
+        Objects.requireNonNull(uuid, "Can't remove fixture from storage: uuid can't be null");
+        return Optional.ofNullable(fixtures.remove(uuid)).map(ItemHandle::getItem);
     }
 
-    public Optional<StepResult> getStep(final String uuid) {
-        return get(uuid, StepResult.class);
+    /**
+     * Adds the step to the storage and to the steps of given parent.
+     *
+     * @param parent the handle of parent item, can be null.
+     * @param uuid   the uuid of the step.
+     * @param step   the step to add.
+     * @return the handle of added step.
+     */
+    public ItemHandle<StepResult> addStep(final ItemHandle<? extends WithSteps> parent,
+                                          final String uuid, final StepResult step) {
+        return addStep(parent, uuid, step, 0);
+    }
+
+    /**
+     * Adds the step to the storage and to the steps of given parent.
+     *
+     * @param parent     the handle of parent item, can be null.
+     * @param uuid       the uuid of the step.
+     * @param step       the step to add.
+     * @param startNanos the monotonic start time of the step.
+     * @return the handle of added step.
+     */
+    public ItemHandle<StepResult> addStep(final ItemHandle<? extends WithSteps> parent,
+                                          final String uuid, final StepResult step, final long startNanos) {
+        final ItemHandle<StepResult> handle = new ItemHandle<>(uuid, step, startNanos, parent);
+        steps.put(uuid, handle);
+        if (Objects.nonNull(parent) && Objects.nonNull(parent.getItem())) {
+            parent.getItem().getSteps().add(step);
+        }
+        return handle;
     }
 
     public void addStep(final String parentUuid, final String uuid, final StepResult step) {
-        put(uuid, step);
-        get(parentUuid, WithSteps.class).ifPresent(parentStep -> parentStep.getSteps().add(step));
+        Objects.requireNonNull(parentUuid, "Can't add step to storage: parent uuid can't be null");
+        addStep(getItemHandle(parentUuid), uuid, step);
+    }
+
+    /**
+     * Returns the handle of the step with given uuid or null if there is no such step.
+     * The current running item is checked first, so the lookup is skipped for the
+     * steps started in the current thread.
+     *
+     * @param uuid the uuid of the step.
+     */
+    @SuppressWarnings("unchecked")
+    public ItemHandle<StepResult> getStepHandle(final String uuid) {
+        Objects.requireNonNull(uuid, "Can't get step from storage: uuid can't be null");
+        final ItemHandle<? extends ExecutableItem> current = getCurrentHandle();
+        if (Objects.nonNull(current) && current.getItem() instanceof StepResult && current.hasUuid(uuid)) {
+            return (ItemHandle<StepResult>) current;
+        }
+        return steps.get(uuid);
+    }
+
+    public Optional<StepResult> getStep(final String uuid) {
+        return Optional.ofNullable(getStepHandle(uuid)).map(ItemHandle::getItem);
+    }
+
+    public ItemHandle<StepResult> removeStepHandle(final String uuid) {
+        Objects.requireNonNull(uuid, "Can't remove step from storage: uuid can't be null");
+        return steps.remove(uuid);
     }
 
     public Optional<StepResult> removeStep(final String uuid) {
-        return remove(uuid, StepResult.class);
+        return Optional.ofNullable(removeStepHandle(uuid)).map(ItemHandle::getItem);
+    }
+
+    /**
+     * Returns the handle of the test result, fixture or step with given uuid
+     * or null if there is no such item.
+     *
+     * @param uuid the uuid of the item.
+     */
+    public ItemHandle<? extends ExecutableItem> getItemHandle(final String uuid) {
+        Objects.requireNonNull(uuid, "Can't get item handle from storage: uuid can't be null");
+        final ItemHandle<? extends ExecutableItem> current = currentStepContext.get().peek();
+        if (Objects.nonNull(current) && Objects.nonNull(current.getItem()) && current.hasUuid(uuid)) {
+            return current;
+        }
+        return getStoredHandle(uuid);
+    }
+
+    @SuppressWarnings("ReturnCount")
+    private ItemHandle<? extends ExecutableItem> getStoredHandle(final String uuid) {
+        final ItemHandle<StepResult> step = steps.get(uuid);
+        if (Objects.nonNull(step)) {
+            return step;
+        }
+        final ItemHandle<FixtureResult> fixture = fixtures.get(uuid);
+        if (Objects.nonNull(fixture)) {
+            return fixture;
+        }
+        return testResults.get(uuid);
     }
 
     public <T> T put(final String uuid, final T item) {
         Objects.requireNonNull(uuid, "Can't put item to storage: uuid can't be null");
-        storage.put(uuid, item);
+        if (item instanceof TestResultContainer) {
+            containers.put(uuid, (TestResultContainer) item);
+        } else if (item instanceof TestResult) {
+            testResults.put(uuid, new ItemHandle<>(uuid, (TestResult) item));
+        } else if (item instanceof FixtureResult) {
+            fixtures.put(uuid, new ItemHandle<>(uuid, (FixtureResult) item));
+        } else if (item instanceof StepResult) {
+            steps.put(uuid, new ItemHandle<>(uuid, (StepResult) item));
+        } else {
+            throw new IllegalArgumentException("Can't put " + item + " to storage: unsupported item type");
+        }
         return item;
     }
 
     public <T> Optional<T> get(final String uuid, final Class<T> clazz) {
         Objects.requireNonNull(uuid, "Can't get item from storage: uuid can't be null");
-        return Optional.ofNullable(storage.get(uuid))
-                .map(item -> cast(item, clazz));
+        final TestResultContainer container = containers.get(uuid);
+        final Object item = Objects.nonNull(container) ? container : getItem(getItemHandle(uuid));
+        return Optional.ofNullable(item)
+                .map(found -> cast(found, clazz));
     }
 
     public <T> Optional<T> remove(final String uuid, final Class<T> clazz) {
         Objects.requireNonNull(uuid, "Can't remove item from storage: uuid can't be null");
-        return Optional.ofNullable(storage.remove(uuid))
-                .map(item -> cast(item, clazz));
+        final TestResultContainer container = containers.remove(uuid);
+        final Object item = Objects.nonNull(container) ? container : getItem(removeItemHandle(uuid));
+        return Optional.ofNullable(item)
+                .map(found -> cast(found, clazz));
     }
 
     public <T> T cast(final Object obj, final Class<T> clazz) {
@@ -130,4 +319,21 @@ public class AllureStorage {
         }
         throw new IllegalStateException("Can not cast " + obj + " to " + clazz);
     }
+
+    @SuppressWarnings("ReturnCount")
+    private ItemHandle<? extends ExecutableItem> removeItemHandle(final String uuid) {
+        final ItemHandle<StepResult> step = steps.remove(uuid);
+        if (Objects.nonNull(step)) {
+            return step;
+        }
+        final ItemHandle<FixtureResult> fixture = fixtures.remove(uuid);
+        if (Objects.nonNull(fixture)) {
+            return fixture;
+        }
+        return testResults.remove(uuid);
+    }
+
+    private static Object getItem(final ItemHandle<?> handle) {
+        return Objects.isNull(handle) ? null : handle.getItem();
+    }
 }
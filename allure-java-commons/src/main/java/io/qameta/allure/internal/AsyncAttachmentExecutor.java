@@ -0,0 +1,136 @@
+package io.qameta.allure.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous attachments on a dedicated pool of daemon threads with a
+ * bounded queue. If the queue is full, the attachment is run in the caller
+ * thread. Attachments are tracked by the uuid of the test or fixture they are
+ * added to, so the lifecycle can wait for them before the result is written.
+ * The attachments of an owner are registered atomically with respect to the wait,
+ * so an attachment is never added to the set that is already being waited for.
+ * Queued attachments are completed on {@link #close()}, which the lifecycle
+ * runs on shutdown.
+ *
+ * @since 2.7
+ */
+public final class AsyncAttachmentExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAttachmentExecutor.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Set<CompletableFuture<?>>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the executor.
+     *
+     * @param threads   the number of attachment threads.
+     * @param queueSize the maximum number of queued attachments.
+     */
+    public AsyncAttachmentExecutor(final int threads, final int queueSize) {
+        if (threads <= 0 || queueSize <= 0) {
+            throw new IllegalArgumentException("Number of attachment threads and queue size should be positive");
+        }
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "allure-attachments-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), threadFactory);
+    }
+
+    /**
+     * Runs the body asynchronously and then the completion action. The returned future
+     * is completed after the completion action.
+     *
+     * @param owner      the uuid of the test or fixture, can be null.
+     * @param body       the attachment body supplier.
+     * @param completion the action to run after the body is supplied.
+     * @param <T>        the type of the body.
+     */
+    public <T> CompletableFuture<T> supply(final String owner, final Supplier<T> body,
+                                           final BiConsumer<? super T, ? super Throwable> completion) {
+        final CompletableFuture<T> future = CompletableFuture.supplyAsync(body, this::execute)
+                .whenComplete(completion);
+        if (Objects.nonNull(owner)) {
+            pending.compute(owner, (uuid, futures) -> {
+                final Set<CompletableFuture<?>> owned = Objects.isNull(futures) ? new HashSet<>() : futures;
+                owned.add(future);
+                return owned;
+            });
+            future.whenComplete((result, ex) -> pending.computeIfPresent(owner, (uuid, futures) -> {
+                futures.remove(future);
+                return futures.isEmpty() ? null : futures;
+            }));
+        }
+        return future;
+    }
+
+    /**
+     * Waits until all the attachments of given owner are completed.
+     *
+     * @param owner   the uuid of the test or fixture.
+     * @param timeout the maximum time to wait.
+     * @param unit    the time unit of the timeout.
+     */
+    public void await(final String owner, final long timeout, final TimeUnit unit) {
+        final Set<CompletableFuture<?>> futures = pending.remove(owner);
+        if (Objects.isNull(futures) || futures.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.debug("Some attachments of {} were not completed", owner, e);
+        } catch (TimeoutException e) {
+            LOGGER.warn("Could not complete attachments of {} in {} {}", owner, timeout, unit, e);
+        }
+    }
+
+    /**
+     * Completes all the queued attachments and stops the threads.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Could not complete attachments in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+}
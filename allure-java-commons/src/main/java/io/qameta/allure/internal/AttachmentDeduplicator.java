@@ -0,0 +1,190 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.writer.FileAttachmentsWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.qameta.allure.AllureConstants.ATTACHMENT_FILE_SUFFIX;
+
+/**
+ * Content-addressed attachment store. The source of the attachment is derived
+ * from the SHA-256 hash of its content, so identical attachments share the same
+ * source, and the content is passed to the results writer only once per run.
+ * Streams are copied to a temporary file while the hash is calculated, which is
+ * then moved to the results by the writer. The temporary files should be created
+ * in the results directory, so the move is a rename.
+ *
+ * @since 2.7
+ */
+public final class AttachmentDeduplicator {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path directory;
+
+    private final Set<String> written = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the store.
+     *
+     * @param directory the directory to create temporary files in, usually the results directory.
+     */
+    public AttachmentDeduplicator(final Path directory) {
+        this.directory = Objects.requireNonNull(directory, "Temporary directory can't be null");
+    }
+
+    /**
+     * Writes the attachment, if there is no written attachment with the same content
+     * and extension. Returns the source of the attachment.
+     *
+     * @param writer    the writer to write the attachment with.
+     * @param extension the file extension of the attachment including the dot, or empty string.
+     * @param body      the content of the attachment.
+     */
+    public String write(final AllureResultsWriter writer, final String extension, final byte[] body) {
+        final String source = getSource(newDigest().digest(body), extension);
+        if (written.add(source)) {
+            writeContent(writer, source, new ByteArrayInputStream(body));
+        }
+        return source;
+    }
+
+    /**
+     * Writes the attachment, if there is no written attachment with the same content
+     * and extension. Returns the source of the attachment.
+     *
+     * @param writer    the writer to write the attachment with.
+     * @param extension the file extension of the attachment including the dot, or empty string.
+     * @param stream    the content of the attachment.
+     */
+    public String write(final AllureResultsWriter writer, final String extension, final InputStream stream) {
+        Path file = null;
+        try {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "allure-attachment-", ".tmp");
+            final MessageDigest digest = newDigest();
+            try (OutputStream output = new DigestOutputStream(Files.newOutputStream(file), digest)) {
+                copy(stream, output);
+            }
+            final String source = getSource(digest.digest(), extension);
+            if (written.add(source)) {
+                writeFile(writer, source, file, true);
+            }
+            return source;
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write attachment", e);
+        } finally {
+            deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Writes the attachment file, if there is no written attachment with the same
+     * content and extension. Returns the source of the attachment.
+     *
+     * @param writer    the writer to write the attachment with.
+     * @param extension the file extension of the attachment including the dot, or empty string.
+     * @param file      the attachment file.
+     */
+    public String write(final AllureResultsWriter writer, final String extension, final Path file) {
+        final MessageDigest digest = newDigest();
+        try (InputStream stream = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read = stream.read(buffer);
+            while (read >= 0) {
+                digest.update(buffer, 0, read);
+                read = stream.read(buffer);
+            }
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not read attachment file " + file, e);
+        }
+        final String source = getSource(digest.digest(), extension);
+        if (written.add(source)) {
+            writeFile(writer, source, file, false);
+        }
+        return source;
+    }
+
+    /**
+     * Returns the number of distinct attachments written.
+     */
+    public int getWrittenCount() {
+        return written.size();
+    }
+
+    private void writeContent(final AllureResultsWriter writer, final String source, final InputStream content) {
+        try {
+            writer.write(source, content);
+        } catch (RuntimeException e) {
+            written.remove(source);
+            throw e;
+        }
+    }
+
+    private void writeFile(final AllureResultsWriter writer, final String source, final Path file,
+                           final boolean temporary) {
+        try {
+            if (temporary) {
+                FileAttachmentsWriter.moveFile(writer, source, file);
+            } else {
+                FileAttachmentsWriter.writeFile(writer, source, file);
+            }
+        } catch (RuntimeException e) {
+            written.remove(source);
+            throw e;
+        }
+    }
+
+    private static void copy(final InputStream input, final OutputStream output) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read = input.read(buffer);
+        while (read >= 0) {
+            output.write(buffer, 0, read);
+            read = input.read(buffer);
+        }
+    }
+
+    private static void deleteIfExists(final Path file) {
+        if (Objects.nonNull(file)) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private static String getSource(final byte[] hash, final String extension) {
+        final char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(chars) + ATTACHMENT_FILE_SUFFIX + extension;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not find " + DIGEST_ALGORITHM + " algorithm", e);
+        }
+    }
+}
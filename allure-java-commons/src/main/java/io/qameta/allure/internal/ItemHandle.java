@@ -0,0 +1,79 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.model.WithSteps;
+
+import java.util.Objects;
+
+/**
+ * Lightweight reference to the item stored in {@link AllureStorage}. Handles are
+ * returned by the storage when an item is added and can be used later to access
+ * the item without uuid lookups.
+ *
+ * @param <T> the type of the item.
+ * @since 2.7
+ */
+public final class ItemHandle<T> {
+
+    private final String uuid;
+
+    private final T item;
+
+    private final long startNanos;
+
+    private final ItemHandle<? extends WithSteps> parent;
+
+    ItemHandle(final String uuid, final T item) {
+        this(uuid, item, 0, null);
+    }
+
+    ItemHandle(final String uuid, final T item, final long startNanos, final ItemHandle<? extends WithSteps> parent) {
+        this.uuid = Objects.requireNonNull(uuid, "Can't create handle: uuid can't be null");
+        this.item = item;
+        this.startNanos = startNanos;
+        this.parent = parent;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    /**
+     * Returns the value of {@link io.qameta.allure.clock.Clock#nanoTime()} when the item
+     * was started, or 0 if it is unknown.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Returns the handle of the item this step was added to, or null for
+     * tests, fixtures and steps without parent.
+     */
+    public ItemHandle<? extends WithSteps> getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the uuid of the test or fixture this item belongs to.
+     */
+    public String getRootUuid() {
+        ItemHandle<?> root = this;
+        while (Objects.nonNull(root.parent)) {
+            root = root.parent;
+        }
+        return root.uuid;
+    }
+
+    /**
+     * Returns true if the handle references the item with given uuid.
+     *
+     * @param other the uuid to check.
+     */
+    public boolean hasUuid(final String other) {
+        return uuid.equals(other);
+    }
+}
@@ -0,0 +1,207 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.WithSteps;
+import io.qameta.allure.util.LazyParameter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collapses consecutive passed sibling steps with the same name and parameters
+ * into the single summary step. The summary step starts as the first step of the run
+ * and is replaced with the updated copy by each merged step: it takes the stop time
+ * of the merged step, and the number of iterations and min/avg/max durations in
+ * milliseconds are added to its parameters. Finished steps are never changed, since
+ * they are shared with the snapshots passed to asynchronous listeners. Steps that
+ * failed or have nested steps or attachments are kept as is and break the run.
+ * <p>
+ * Runs are kept per root item (test or fixture), so steps of different tests
+ * don't contend for the same lock. Lazy parameters are compared by their
+ * arguments and are not rendered.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.AccessorMethodGeneration")
+public final class StepAggregator {
+
+    public static final String ITERATIONS_PARAMETER = "iterations";
+
+    public static final String MIN_DURATION_PARAMETER = "minDuration";
+
+    public static final String AVG_DURATION_PARAMETER = "avgDuration";
+
+    public static final String MAX_DURATION_PARAMETER = "maxDuration";
+
+    private final String ignoredParameter;
+
+    private final Map<String, Map<WithSteps, Run>> roots = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the aggregator.
+     *
+     * @param ignoredParameter the name of the parameter that is not compared
+     *                         and is removed from summary steps, can be null.
+     */
+    public StepAggregator(final String ignoredParameter) {
+        this.ignoredParameter = ignoredParameter;
+    }
+
+    /**
+     * Merges the stopped step into the summary step of the previous sibling, if
+     * they are the same. Returns true if the step was merged and removed from the parent.
+     *
+     * @param rootUuid      the uuid of the test or fixture of the step.
+     * @param parent        the item the step was added to.
+     * @param step          the stopped step.
+     * @param durationNanos the duration of the step.
+     */
+    @SuppressWarnings("ReturnCount")
+    public boolean stepStopped(final String rootUuid, final WithSteps parent,
+                               final StepResult step, final long durationNanos) {
+        if (Objects.isNull(rootUuid) || Objects.isNull(parent)) {
+            return false;
+        }
+        final Map<WithSteps, Run> runs = roots.computeIfAbsent(rootUuid, uuid -> new IdentityHashMap<>());
+        synchronized (runs) {
+            final List<StepResult> siblings = parent.getSteps();
+            final int last = siblings.size() - 1;
+            if (last < 0 || siblings.get(last) != step || !isAggregatable(step)) {
+                runs.remove(parent);
+                return false;
+            }
+            final Run run = runs.get(parent);
+            if (Objects.nonNull(run) && last > 0 && siblings.get(last - 1) == run.summary && run.matches(step)) {
+                siblings.remove(last);
+                siblings.set(last - 1, run.add(step, durationNanos));
+                return true;
+            }
+            runs.put(parent, new Run(step, durationNanos));
+            return false;
+        }
+    }
+
+    /**
+     * Forgets the run of steps of given parent. Should be called when the parent step is stopped.
+     *
+     * @param rootUuid the uuid of the test or fixture of the step.
+     * @param parent   the stopped step.
+     */
+    public void parentStopped(final String rootUuid, final WithSteps parent) {
+        final Map<WithSteps, Run> runs = Objects.isNull(rootUuid) ? null : roots.get(rootUuid);
+        if (Objects.nonNull(runs)) {
+            synchronized (runs) {
+                runs.remove(parent);
+            }
+        }
+    }
+
+    /**
+     * Forgets all the runs of given test or fixture. Should be called when it is stopped.
+     *
+     * @param rootUuid the uuid of the stopped test or fixture.
+     */
+    public void rootStopped(final String rootUuid) {
+        if (Objects.nonNull(rootUuid)) {
+            roots.remove(rootUuid);
+        }
+    }
+
+    private static boolean isAggregatable(final StepResult step) {
+        return Status.PASSED.equals(step.getStatus())
+                && step.getSteps().isEmpty()
+                && step.getAttachments().isEmpty();
+    }
+
+    /**
+     * Consecutive identical steps.
+     */
+    private final class Run {
+
+        private StepResult summary;
+
+        private final List<Parameter> parameters;
+
+        private long count;
+
+        private long min;
+
+        private long max;
+
+        private long total;
+
+        Run(final StepResult summary, final long durationNanos) {
+            this.summary = summary;
+            this.parameters = withoutIgnored(summary.getParameters());
+            this.count = 1;
+            this.min = durationNanos;
+            this.max = durationNanos;
+            this.total = durationNanos;
+        }
+
+        @SuppressWarnings("ReturnCount")
+        public boolean matches(final StepResult step) {
+            if (!Objects.equals(summary.getName(), step.getName())) {
+                return false;
+            }
+            final List<Parameter> other = withoutIgnored(step.getParameters());
+            if (other.size() != parameters.size()) {
+                return false;
+            }
+            for (int i = 0; i < other.size(); i++) {
+                if (!Objects.equals(parameters.get(i).getName(), other.get(i).getName())
+                        || !LazyParameter.hasSameValue(parameters.get(i), other.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Adds the step to the run and returns the new summary step.
+         */
+        public StepResult add(final StepResult step, final long durationNanos) {
+            count++;
+            min = Math.min(min, durationNanos);
+            max = Math.max(max, durationNanos);
+            total += durationNanos;
+            summary = new StepResult()
+                    .withName(summary.getName())
+                    .withStatus(summary.getStatus())
+                    .withStatusDetails(summary.getStatusDetails())
+                    .withStage(summary.getStage())
+                    .withDescription(summary.getDescription())
+                    .withDescriptionHtml(summary.getDescriptionHtml())
+                    .withStart(summary.getStart())
+                    .withStop(step.getStop());
+            final List<Parameter> summaryParameters = summary.getParameters();
+            summaryParameters.addAll(parameters);
+            summaryParameters.add(parameter(ITERATIONS_PARAMETER, count));
+            summaryParameters.add(parameter(MIN_DURATION_PARAMETER, TimeUnit.NANOSECONDS.toMillis(min)));
+            summaryParameters.add(parameter(AVG_DURATION_PARAMETER, TimeUnit.NANOSECONDS.toMillis(total / count)));
+            summaryParameters.add(parameter(MAX_DURATION_PARAMETER, TimeUnit.NANOSECONDS.toMillis(max)));
+            return summary;
+        }
+
+        private List<Parameter> withoutIgnored(final List<Parameter> source) {
+            final List<Parameter> result = new ArrayList<>(source.size());
+            for (Parameter parameter : source) {
+                if (!Objects.equals(ignoredParameter, parameter.getName())) {
+                    result.add(parameter);
+                }
+            }
+            return result;
+        }
+
+        private Parameter parameter(final String name, final long value) {
+            return new Parameter().withName(name).withValue(Long.toString(value));
+        }
+    }
+}
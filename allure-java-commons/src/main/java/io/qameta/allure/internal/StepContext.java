@@ -0,0 +1,94 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.model.ExecutableItem;
+
+import java.util.Arrays;
+
+/**
+ * Array-backed stack of running items. The first pushed item is the root item
+ * (test or fixture), the last one is the current item.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class StepContext {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private static final ItemHandle<?>[] EMPTY = new ItemHandle<?>[0];
+
+    private ItemHandle<?>[] items;
+
+    private int size;
+
+    public StepContext() {
+        this(EMPTY, 0);
+    }
+
+    private StepContext(final ItemHandle<?>[] items, final int size) {
+        this.items = items;
+        this.size = size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void push(final ItemHandle<? extends ExecutableItem> handle) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        items[size++] = handle;
+    }
+
+    /**
+     * Removes the current item. Does nothing if the context is empty.
+     */
+    public void pop() {
+        if (size > 0) {
+            items[--size] = null;
+        }
+    }
+
+    /**
+     * Returns the current item or null if the context is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public ItemHandle<? extends ExecutableItem> peek() {
+        return size == 0 ? null : (ItemHandle<? extends ExecutableItem>) items[size - 1];
+    }
+
+    /**
+     * Returns the root item or null if the context is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public ItemHandle<? extends ExecutableItem> root() {
+        return size == 0 ? null : (ItemHandle<? extends ExecutableItem>) items[0];
+    }
+
+    /**
+     * Returns the copy of the context with handles that keep only uuids of the items,
+     * see {@link AllureStorage#getCurrentHandle()}.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public StepContext detach() {
+        final ItemHandle<?>[] detached = new ItemHandle<?>[size];
+        for (int i = 0; i < size; i++) {
+            detached[i] = new ItemHandle<ExecutableItem>(items[i].getUuid(), null);
+        }
+        return new StepContext(detached, size);
+    }
+
+    /**
+     * Returns independent copy of the context.
+     */
+    public StepContext copy() {
+        return size == 0
+                ? new StepContext()
+                : new StepContext(Arrays.copyOf(items, size), size);
+    }
+}
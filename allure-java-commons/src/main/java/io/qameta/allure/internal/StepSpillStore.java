@@ -0,0 +1,547 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.WithSteps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the number of steps held in memory bounded. Steps are counted per root
+ * item (test or fixture). Once the number of steps of the root exceeds the
+ * threshold, each finished step is serialized together with its children to the
+ * spill file of the root, and is replaced in the parent by a placeholder that
+ * contains only the name, status and timings of the step. The spilled steps are
+ * read back by {@link #restore(ExecutableItem)} right before the root is written.
+ * Writers that serialize the steps one by one can use {@link #detach(ExecutableItem)}
+ * instead and {@link SpilledStep#load() load} each spilled step when it is written,
+ * so the whole tree is never held in memory.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings({"PMD.GodClass", "PMD.ExcessiveImports", "PMD.TooManyMethods", "PMD.AccessorMethodGeneration"})
+public final class StepSpillStore {
+
+    /**
+     * Spill file of the root item that has no spilled steps.
+     */
+    public static final SpillFile NO_SPILL_FILE = () -> {
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepSpillStore.class);
+
+    private static final int STEP_RECORD = 0;
+
+    private static final int SPILLED_RECORD = 1;
+
+    private final Path directory;
+
+    private final int threshold;
+
+    private final Map<ExecutableItem, RootSpill> roots = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Creates the store.
+     *
+     * @param directory the directory to create spill files in.
+     * @param threshold the maximum number of steps per root kept in memory.
+     */
+    public StepSpillStore(final Path directory, final int threshold) {
+        Objects.requireNonNull(directory, "Spill directory can't be null");
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Spill threshold should be positive");
+        }
+        this.directory = directory;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Registers started step.
+     *
+     * @param root   the root item of the step.
+     * @param parent the item the step was added to.
+     * @param step   the started step.
+     */
+    public void stepStarted(final ExecutableItem root, final WithSteps parent, final StepResult step) {
+        if (Objects.isNull(root) || Objects.isNull(parent)) {
+            return;
+        }
+        final RootSpill spill;
+        synchronized (roots) {
+            spill = roots.computeIfAbsent(root, item -> new RootSpill());
+        }
+        spill.started(parent, step);
+    }
+
+    /**
+     * Registers stopped step. The step is spilled if the root of the step
+     * keeps more steps in memory than allowed.
+     *
+     * @param root the root item of the step.
+     * @param step the stopped step.
+     */
+    public void stepStopped(final ExecutableItem root, final StepResult step) {
+        if (Objects.isNull(root)) {
+            return;
+        }
+        final RootSpill spill = roots.get(root);
+        if (Objects.nonNull(spill)) {
+            spill.stopped(step);
+        }
+    }
+
+    /**
+     * Unregisters the step that was removed from its parent instead of being
+     * stopped, for example merged into the summary step.
+     *
+     * @param root the root item of the step.
+     * @param step the removed step.
+     */
+    public void stepRemoved(final ExecutableItem root, final StepResult step) {
+        if (Objects.isNull(root)) {
+            return;
+        }
+        final RootSpill spill = roots.get(root);
+        if (Objects.nonNull(spill)) {
+            spill.removed(step);
+        }
+    }
+
+    /**
+     * Replaces all the placeholders in the steps of given root item with the
+     * spilled steps and removes the spill file of the root.
+     *
+     * @param root the root item to restore.
+     */
+    public void restore(final ExecutableItem root) {
+        final RootSpill spill = roots.remove(root);
+        if (Objects.nonNull(spill)) {
+            spill.restore(root);
+        }
+    }
+
+    /**
+     * Removes given root item from the store without restoring its steps. The spilled
+     * steps stay in the steps of the root as {@link SpilledStep} placeholders, which can
+     * be loaded until the returned spill file is closed.
+     *
+     * @param root the root item to detach.
+     * @return the spill file of the root, which should be closed once the root is written.
+     */
+    public SpillFile detach(final ExecutableItem root) {
+        final RootSpill spill = roots.remove(root);
+        if (Objects.isNull(spill)) {
+            return NO_SPILL_FILE;
+        }
+        spill.flush();
+        return spill::close;
+    }
+
+    /**
+     * Removes given root item from the store and deletes its spill file. Spilled
+     * steps are not restored.
+     *
+     * @param root the root item to discard.
+     */
+    public void discard(final ExecutableItem root) {
+        final RootSpill spill = roots.remove(root);
+        if (Objects.nonNull(spill)) {
+            spill.close();
+        }
+    }
+
+    private static void copyPlaceholder(final StepResult step, final StepResult placeholder) {
+        placeholder.setName(step.getName());
+        placeholder.setStatus(step.getStatus());
+        placeholder.setStatusDetails(step.getStatusDetails());
+        placeholder.setStage(step.getStage());
+        placeholder.setStart(step.getStart());
+        placeholder.setStop(step.getStop());
+    }
+
+    private static void writeStatusDetails(final DataOutputStream stream, final StatusDetails details)
+            throws IOException {
+        stream.writeBoolean(Objects.nonNull(details));
+        if (Objects.nonNull(details)) {
+            stream.writeBoolean(details.isKnown());
+            stream.writeBoolean(details.isMuted());
+            stream.writeBoolean(details.isFlaky());
+            writeString(stream, details.getMessage());
+            writeString(stream, details.getTrace());
+        }
+    }
+
+    private static StatusDetails readStatusDetails(final DataInputStream stream) throws IOException {
+        if (!stream.readBoolean()) {
+            return null;
+        }
+        return new StatusDetails()
+                .withKnown(stream.readBoolean())
+                .withMuted(stream.readBoolean())
+                .withFlaky(stream.readBoolean())
+                .withMessage(readString(stream))
+                .withTrace(readString(stream));
+    }
+
+    private static void writeLong(final DataOutputStream stream, final Long value) throws IOException {
+        stream.writeBoolean(Objects.nonNull(value));
+        if (Objects.nonNull(value)) {
+            stream.writeLong(value);
+        }
+    }
+
+    private static Long readLong(final DataInputStream stream) throws IOException {
+        return stream.readBoolean() ? stream.readLong() : null;
+    }
+
+    private static void writeString(final DataOutputStream stream, final String value) throws IOException {
+        if (Objects.isNull(value)) {
+            stream.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    private static String readString(final DataInputStream stream) throws IOException {
+        final int length = stream.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        stream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Spill file of the detached root item.
+     */
+    @FunctionalInterface
+    public interface SpillFile extends Closeable {
+
+        /**
+         * Deletes the spill file. Spilled steps can't be loaded after that.
+         */
+        @Override
+        void close();
+
+    }
+
+    /**
+     * Placeholder of the spilled step. Contains the name, status and timings
+     * of the step; the step with its parameters, attachments and children is
+     * read from the spill file by {@link #load()}.
+     */
+    public static final class SpilledStep extends StepResult {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RootSpill spill;
+
+        private final long offset;
+
+        SpilledStep(final RootSpill spill, final long offset) {
+            super();
+            this.spill = spill;
+            this.offset = offset;
+        }
+
+        /**
+         * Reads the spilled step. Spilled children of the step are returned as
+         * placeholders too. If the step could not be read, the copy of this
+         * placeholder is returned.
+         */
+        public StepResult load() {
+            return spill.load(this);
+        }
+    }
+
+    /**
+     * Spilled steps of the single root item.
+     */
+    @SuppressWarnings({"ClassDataAbstractionCoupling", "PMD.AvoidSynchronizedAtMethodLevel"})
+    private final class RootSpill {
+
+        private final Map<StepResult, WithSteps> parents = new IdentityHashMap<>();
+
+        private Path file;
+
+        private FileChannel channel;
+
+        private DataOutputStream output;
+
+        private CountingOutputStream counter;
+
+        private int inMemory;
+
+        public synchronized void started(final WithSteps parent, final StepResult step) {
+            parents.put(step, parent);
+            inMemory++;
+        }
+
+        public synchronized void stopped(final StepResult step) {
+            final WithSteps parent = parents.remove(step);
+            if (Objects.isNull(parent) || inMemory <= threshold) {
+                return;
+            }
+            final List<StepResult> siblings = parent.getSteps();
+            for (int i = siblings.size() - 1; i >= 0; i--) {
+                if (siblings.get(i) == step) {
+                    siblings.set(i, spill(step));
+                    break;
+                }
+            }
+        }
+
+        public synchronized void removed(final StepResult step) {
+            if (Objects.nonNull(parents.remove(step))) {
+                inMemory--;
+            }
+        }
+
+        public synchronized void restore(final ExecutableItem root) {
+            if (Objects.isNull(output)) {
+                return;
+            }
+            try {
+                output.flush();
+                restoreSteps(root.getSteps());
+            } catch (IOException e) {
+                LOGGER.error("Could not restore spilled steps from {}", file, e);
+            } finally {
+                close();
+            }
+        }
+
+        public synchronized void flush() {
+            if (Objects.isNull(output)) {
+                return;
+            }
+            try {
+                output.flush();
+            } catch (IOException e) {
+                LOGGER.error("Could not flush spill file {}", file, e);
+            }
+        }
+
+        public synchronized StepResult load(final SpilledStep placeholder) {
+            try {
+                if (Objects.isNull(output) || !channel.isOpen()) {
+                    throw new IOException("Spill file is closed");
+                }
+                channel.position(placeholder.offset);
+                final InputStream stream = new BufferedInputStream(Channels.newInputStream(channel));
+                return readStep(new DataInputStream(stream), false);
+            } catch (IOException e) {
+                LOGGER.error("Could not load spilled step {} from {}", placeholder.getName(), file, e);
+                final StepResult step = new StepResult();
+                copyPlaceholder(placeholder, step);
+                return step;
+            }
+        }
+
+        private StepResult spill(final StepResult step) {
+            try {
+                if (Objects.isNull(output)) {
+                    open();
+                }
+                final long offset = counter.getCount();
+                inMemory -= writeStep(output, step);
+                final SpilledStep placeholder = new SpilledStep(this, offset);
+                copyPlaceholder(step, placeholder);
+                return placeholder;
+            } catch (IOException e) {
+                LOGGER.error("Could not spill step {}", step.getName(), e);
+                return step;
+            }
+        }
+
+        private void open() throws IOException {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "allure-steps-", ".spill");
+            file.toFile().deleteOnExit();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            counter = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            output = new DataOutputStream(counter);
+        }
+
+        public synchronized void close() {
+            if (Objects.isNull(output)) {
+                return;
+            }
+            try {
+                output.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete spill file {}", file, e);
+            } finally {
+                output = null;
+            }
+        }
+
+        /**
+         * Writes the step with its children. Returns the number of written steps
+         * that were held in memory.
+         */
+        @SuppressWarnings("PMD.NPathComplexity")
+        private int writeStep(final DataOutputStream stream, final StepResult step) throws IOException {
+            if (isSpilled(step)) {
+                stream.writeByte(SPILLED_RECORD);
+                stream.writeLong(((SpilledStep) step).offset);
+                return 0;
+            }
+            stream.writeByte(STEP_RECORD);
+            writeString(stream, step.getName());
+            writeString(stream, Objects.isNull(step.getStatus()) ? null : step.getStatus().name());
+            writeStatusDetails(stream, step.getStatusDetails());
+            writeString(stream, Objects.isNull(step.getStage()) ? null : step.getStage().name());
+            writeString(stream, step.getDescription());
+            writeString(stream, step.getDescriptionHtml());
+            writeLong(stream, step.getStart());
+            writeLong(stream, step.getStop());
+            stream.writeInt(step.getAttachments().size());
+            for (Attachment attachment : step.getAttachments()) {
+                writeString(stream, attachment.getName());
+                writeString(stream, attachment.getSource());
+                writeString(stream, attachment.getType());
+            }
+            stream.writeInt(step.getParameters().size());
+            for (Parameter parameter : step.getParameters()) {
+                writeString(stream, parameter.getName());
+                writeString(stream, parameter.getValue());
+            }
+            stream.writeInt(step.getSteps().size());
+            int written = 1;
+            for (StepResult child : step.getSteps()) {
+                written += writeStep(stream, child);
+            }
+            return written;
+        }
+
+        private boolean isSpilled(final StepResult step) {
+            return step instanceof SpilledStep && ((SpilledStep) step).spill == this;
+        }
+
+        private void restoreSteps(final List<StepResult> steps) throws IOException {
+            for (int i = 0; i < steps.size(); i++) {
+                final StepResult step = steps.get(i);
+                if (isSpilled(step)) {
+                    steps.set(i, readStepAt(((SpilledStep) step).offset));
+                } else {
+                    restoreSteps(step.getSteps());
+                }
+            }
+        }
+
+        private StepResult readStepAt(final long offset) throws IOException {
+            channel.position(offset);
+            final InputStream stream = new BufferedInputStream(Channels.newInputStream(channel));
+            return readStep(new DataInputStream(stream), true);
+        }
+
+        /**
+         * Reads the step record. Spilled children are read too if {@code children}
+         * is true, otherwise they are returned as placeholders.
+         */
+        @SuppressWarnings({
+                "ReturnCount", "PMD.NPathComplexity",
+                "PMD.UnnecessaryLocalBeforeReturn", "PMD.AvoidInstantiatingObjectsInLoops"
+        })
+        private StepResult readStep(final DataInputStream stream, final boolean children) throws IOException {
+            if (stream.readByte() == SPILLED_RECORD) {
+                final long offset = stream.readLong();
+                if (!children) {
+                    return new SpilledStep(this, offset);
+                }
+                final long position = channel.position();
+                final StepResult step = readStepAt(offset);
+                channel.position(position);
+                return step;
+            }
+            final StepResult step = new StepResult();
+            step.setName(readString(stream));
+            final String status = readString(stream);
+            step.setStatus(Objects.isNull(status) ? null : Status.valueOf(status));
+            step.setStatusDetails(readStatusDetails(stream));
+            final String stage = readString(stream);
+            step.setStage(Objects.isNull(stage) ? null : Stage.valueOf(stage));
+            step.setDescription(readString(stream));
+            step.setDescriptionHtml(readString(stream));
+            step.setStart(readLong(stream));
+            step.setStop(readLong(stream));
+            final int attachments = stream.readInt();
+            for (int i = 0; i < attachments; i++) {
+                step.getAttachments().add(new Attachment()
+                        .withName(readString(stream))
+                        .withSource(readString(stream))
+                        .withType(readString(stream)));
+            }
+            final int parameters = stream.readInt();
+            for (int i = 0; i < parameters; i++) {
+                step.getParameters().add(new Parameter()
+                        .withName(readString(stream))
+                        .withValue(readString(stream)));
+            }
+            final int count = stream.readInt();
+            for (int i = 0; i < count; i++) {
+                step.getSteps().add(readStep(stream, children));
+            }
+            return step;
+        }
+    }
+
+    /**
+     * Stream that counts written bytes.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(final OutputStream stream) {
+            super(stream);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
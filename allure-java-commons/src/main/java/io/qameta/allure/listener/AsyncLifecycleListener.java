@@ -0,0 +1,12 @@
+package io.qameta.allure.listener;
+
+/**
+ * Marker for lifecycle listeners that should be notified asynchronously, off the
+ * test thread. Such listeners receive copies of the results taken at the moment
+ * of the event, so changes made by the listener do not affect the results.
+ * Events of the same test, fixture or container are delivered in order.
+ *
+ * @since 2.7
+ */
+public interface AsyncLifecycleListener {
+}
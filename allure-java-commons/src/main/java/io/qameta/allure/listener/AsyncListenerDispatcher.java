@@ -0,0 +1,103 @@
+package io.qameta.allure.listener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs notifications of {@link AsyncLifecycleListener}s on a small pool of worker
+ * threads. Each worker has its own queue, and the worker is chosen by the uuid of
+ * the test, fixture or container the event belongs to, so the events of a test
+ * are delivered in the order they happened, whatever threads produced them.
+ */
+final class AsyncListenerDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncListenerDispatcher.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private final ExecutorService[] workers;
+
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    AsyncListenerDispatcher(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of listener threads should be positive");
+        }
+        this.workers = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            final String name = "allure-listeners-" + i;
+            final ThreadFactory threadFactory = runnable -> {
+                final Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            };
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    threadFactory);
+        }
+    }
+
+    /**
+     * Queues the notification. The notification is run in the current thread
+     * if the dispatcher is already closed.
+     *
+     * @param key          the uuid of the item the event belongs to; the events
+     *                     without uuid are ordered by the current thread.
+     * @param notification the notification to run.
+     */
+    public void submit(final String key, final Runnable notification) {
+        final int index = Objects.isNull(key)
+                ? (int) (Thread.currentThread().getId() % workers.length)
+                : Math.floorMod(key.hashCode(), workers.length);
+        try {
+            workers[index].execute(notification);
+        } catch (RejectedExecutionException e) {
+            notification.run();
+        }
+    }
+
+    /**
+     * Blocks until all the notifications queued before this call are completed.
+     */
+    public void await() {
+        final CountDownLatch latch = new CountDownLatch(workers.length);
+        for (ExecutorService worker : workers) {
+            try {
+                worker.execute(latch::countDown);
+            } catch (RejectedExecutionException e) {
+                latch.countDown();
+            }
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completes all the queued notifications and stops the workers.
+     */
+    public void close() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        try {
+            for (ExecutorService worker : workers) {
+                if (!worker.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Could not complete lifecycle listener notifications in {} seconds",
+                            SHUTDOWN_TIMEOUT_SECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
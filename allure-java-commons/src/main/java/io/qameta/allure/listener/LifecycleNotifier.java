@@ -4,182 +4,596 @@ import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
-
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
 
 /**
+ * Notifies registered listeners about lifecycle events. The dispatch is prepared
+ * once, at construction: for each event only the listeners that override the
+ * corresponding method are called, so events without listeners cost nothing.
+ * Exceptions thrown by listeners are logged and do not break the lifecycle.
+ * <p>
+ * If timing is enabled, the notifier tracks cumulative time spent in each listener,
+ * see {@link #getListenerTimings()}.
+ * <p>
+ * Listeners that implement {@link AsyncLifecycleListener} are notified off the
+ * calling thread with snapshots of the results. Events of the same test, fixture
+ * or container are delivered in order. Fixture and step events are ordered by the
+ * uuid of the test or fixture they belong to, passed as {@code rootUuid}; without
+ * it they are ordered by the calling thread. Use {@link #awaitAsyncListeners()} to
+ * wait for pending notifications and {@link #close()} to complete them and stop
+ * the workers; the lifecycle closes the notifier on shutdown.
+ *
  * @since 2.0
  */
-@SuppressWarnings("PMD.TooManyMethods")
+@SuppressWarnings({
+        "PMD.GodClass", "PMD.ExcessiveClassLength",
+        "PMD.TooManyMethods", "PMD.TooManyFields", "PMD.ExcessivePublicCount",
+        "PMD.AvoidFieldNameMatchingMethodName", "PMD.AccessorMethodGeneration"
+})
 public class LifecycleNotifier implements ContainerLifecycleListener,
         TestLifecycleListener, FixtureLifecycleListener, StepLifecycleListener {
 
-    private final List<ContainerLifecycleListener> containerListeners;
+    public static final int DEFAULT_ASYNC_THREADS = 2;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleNotifier.class);
+
+    private final Map<Object, LongAdder> timings;
+
+    private final AsyncListenerDispatcher asyncDispatcher;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> beforeContainerStart;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> afterContainerStart;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> beforeContainerUpdate;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> afterContainerUpdate;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> beforeContainerStop;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> afterContainerStop;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> beforeContainerWrite;
+
+    private final Dispatch<ContainerLifecycleListener, TestResultContainer> afterContainerWrite;
+
+    private final Dispatch<TestLifecycleListener, TestResult> beforeTestSchedule;
+
+    private final Dispatch<TestLifecycleListener, TestResult> afterTestSchedule;
+
+    private final Dispatch<TestLifecycleListener, TestResult> beforeTestUpdate;
+
+    private final Dispatch<TestLifecycleListener, TestResult> afterTestUpdate;
+
+    private final Dispatch<TestLifecycleListener, TestResult> beforeTestStart;
+
+    private final Dispatch<TestLifecycleListener, TestResult> afterTestStart;
+
+    private final Dispatch<TestLifecycleListener, TestResult> beforeTestStop;
+
+    private final Dispatch<TestLifecycleListener, TestResult> afterTestStop;
+
+    private final Dispatch<TestLifecycleListener, TestResult> beforeTestWrite;
+
+    private final Dispatch<TestLifecycleListener, TestResult> afterTestWrite;
+
+    private final Dispatch<FixtureLifecycleListener, FixtureResult> beforeFixtureStart;
+
+    private final Dispatch<FixtureLifecycleListener, FixtureResult> afterFixtureStart;
+
+    private final Dispatch<FixtureLifecycleListener, FixtureResult> beforeFixtureUpdate;
+
+    private final Dispatch<FixtureLifecycleListener, FixtureResult> afterFixtureUpdate;
+
+    private final Dispatch<FixtureLifecycleListener, FixtureResult> beforeFixtureStop;
+
+    private final Dispatch<FixtureLifecycleListener, FixtureResult> afterFixtureStop;
+
+    private final Dispatch<StepLifecycleListener, StepResult> beforeStepStart;
+
+    private final Dispatch<StepLifecycleListener, StepResult> afterStepStart;
 
-    private final List<TestLifecycleListener> testListeners;
+    private final Dispatch<StepLifecycleListener, StepResult> beforeStepUpdate;
 
-    private final List<FixtureLifecycleListener> fixtureListeners;
+    private final Dispatch<StepLifecycleListener, StepResult> afterStepUpdate;
 
-    private final List<StepLifecycleListener> stepListeners;
+    private final Dispatch<StepLifecycleListener, StepResult> beforeStepStop;
+
+    private final Dispatch<StepLifecycleListener, StepResult> afterStepStop;
 
     public LifecycleNotifier(final List<ContainerLifecycleListener> containerListeners,
                              final List<TestLifecycleListener> testListeners,
                              final List<FixtureLifecycleListener> fixtureListeners,
                              final List<StepLifecycleListener> stepListeners) {
-        this.containerListeners = containerListeners;
-        this.testListeners = testListeners;
-        this.fixtureListeners = fixtureListeners;
-        this.stepListeners = stepListeners;
+        this(containerListeners, testListeners, fixtureListeners, stepListeners, false);
+    }
+
+    public LifecycleNotifier(final List<ContainerLifecycleListener> containerListeners,
+                             final List<TestLifecycleListener> testListeners,
+                             final List<FixtureLifecycleListener> fixtureListeners,
+                             final List<StepLifecycleListener> stepListeners,
+                             final boolean timingEnabled) {
+        this(containerListeners, testListeners, fixtureListeners, stepListeners,
+                timingEnabled, DEFAULT_ASYNC_THREADS);
+    }
+
+    @SuppressWarnings({"ExecutableStatementCount", "PMD.ExcessiveMethodLength", "PMD.ExcessiveParameterList"})
+    public LifecycleNotifier(final List<ContainerLifecycleListener> containerListeners,
+                             final List<TestLifecycleListener> testListeners,
+                             final List<FixtureLifecycleListener> fixtureListeners,
+                             final List<StepLifecycleListener> stepListeners,
+                             final boolean timingEnabled,
+                             final int asyncThreads) {
+        this.timings = timingEnabled ? new IdentityHashMap<>() : null;
+        this.asyncDispatcher = hasAsync(containerListeners) || hasAsync(testListeners)
+                || hasAsync(fixtureListeners) || hasAsync(stepListeners)
+                ? new AsyncListenerDispatcher(asyncThreads)
+                : null;
+        this.beforeContainerStart = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "beforeContainerStart", TestResultContainer.class,
+                ContainerLifecycleListener::beforeContainerStart, ResultsSnapshots::copy);
+        this.afterContainerStart = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "afterContainerStart", TestResultContainer.class,
+                ContainerLifecycleListener::afterContainerStart, ResultsSnapshots::copy);
+        this.beforeContainerUpdate = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "beforeContainerUpdate", TestResultContainer.class,
+                ContainerLifecycleListener::beforeContainerUpdate, ResultsSnapshots::copy);
+        this.afterContainerUpdate = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "afterContainerUpdate", TestResultContainer.class,
+                ContainerLifecycleListener::afterContainerUpdate, ResultsSnapshots::copy);
+        this.beforeContainerStop = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "beforeContainerStop", TestResultContainer.class,
+                ContainerLifecycleListener::beforeContainerStop, ResultsSnapshots::copy);
+        this.afterContainerStop = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "afterContainerStop", TestResultContainer.class,
+                ContainerLifecycleListener::afterContainerStop, ResultsSnapshots::copy);
+        this.beforeContainerWrite = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "beforeContainerWrite", TestResultContainer.class,
+                ContainerLifecycleListener::beforeContainerWrite, ResultsSnapshots::copy);
+        this.afterContainerWrite = dispatch(containerListeners, ContainerLifecycleListener.class,
+                "afterContainerWrite", TestResultContainer.class,
+                ContainerLifecycleListener::afterContainerWrite, ResultsSnapshots::copy);
+        this.beforeTestSchedule = dispatch(testListeners, TestLifecycleListener.class,
+                "beforeTestSchedule", TestResult.class,
+                TestLifecycleListener::beforeTestSchedule, ResultsSnapshots::copy);
+        this.afterTestSchedule = dispatch(testListeners, TestLifecycleListener.class,
+                "afterTestSchedule", TestResult.class,
+                TestLifecycleListener::afterTestSchedule, ResultsSnapshots::copy);
+        this.beforeTestUpdate = dispatch(testListeners, TestLifecycleListener.class,
+                "beforeTestUpdate", TestResult.class,
+                TestLifecycleListener::beforeTestUpdate, ResultsSnapshots::copy);
+        this.afterTestUpdate = dispatch(testListeners, TestLifecycleListener.class,
+                "afterTestUpdate", TestResult.class,
+                TestLifecycleListener::afterTestUpdate, ResultsSnapshots::copy);
+        this.beforeTestStart = dispatch(testListeners, TestLifecycleListener.class,
+                "beforeTestStart", TestResult.class,
+                TestLifecycleListener::beforeTestStart, ResultsSnapshots::copy);
+        this.afterTestStart = dispatch(testListeners, TestLifecycleListener.class,
+                "afterTestStart", TestResult.class,
+                TestLifecycleListener::afterTestStart, ResultsSnapshots::copy);
+        this.beforeTestStop = dispatch(testListeners, TestLifecycleListener.class,
+                "beforeTestStop", TestResult.class,
+                TestLifecycleListener::beforeTestStop, ResultsSnapshots::copy);
+        this.afterTestStop = dispatch(testListeners, TestLifecycleListener.class,
+                "afterTestStop", TestResult.class,
+                TestLifecycleListener::afterTestStop, ResultsSnapshots::copy);
+        this.beforeTestWrite = dispatch(testListeners, TestLifecycleListener.class,
+                "beforeTestWrite", TestResult.class,
+                TestLifecycleListener::beforeTestWrite, ResultsSnapshots::copy);
+        this.afterTestWrite = dispatch(testListeners, TestLifecycleListener.class,
+                "afterTestWrite", TestResult.class,
+                TestLifecycleListener::afterTestWrite, ResultsSnapshots::copy);
+        this.beforeFixtureStart = dispatch(fixtureListeners, FixtureLifecycleListener.class,
+                "beforeFixtureStart", FixtureResult.class,
+                FixtureLifecycleListener::beforeFixtureStart, ResultsSnapshots::copy);
+        this.afterFixtureStart = dispatch(fixtureListeners, FixtureLifecycleListener.class,
+                "afterFixtureStart", FixtureResult.class,
+                FixtureLifecycleListener::afterFixtureStart, ResultsSnapshots::copy);
+        this.beforeFixtureUpdate = dispatch(fixtureListeners, FixtureLifecycleListener.class,
+                "beforeFixtureUpdate", FixtureResult.class,
+                FixtureLifecycleListener::beforeFixtureUpdate, ResultsSnapshots::copy);
+        this.afterFixtureUpdate = dispatch(fixtureListeners, FixtureLifecycleListener.class,
+                "afterFixtureUpdate", FixtureResult.class,
+                FixtureLifecycleListener::afterFixtureUpdate, ResultsSnapshots::copy);
+        this.beforeFixtureStop = dispatch(fixtureListeners, FixtureLifecycleListener.class,
+                "beforeFixtureStop", FixtureResult.class,
+                FixtureLifecycleListener::beforeFixtureStop, ResultsSnapshots::copy);
+        this.afterFixtureStop = dispatch(fixtureListeners, FixtureLifecycleListener.class,
+                "afterFixtureStop", FixtureResult.class,
+                FixtureLifecycleListener::afterFixtureStop, ResultsSnapshots::copy);
+        this.beforeStepStart = dispatch(stepListeners, StepLifecycleListener.class,
+                "beforeStepStart", StepResult.class,
+                StepLifecycleListener::beforeStepStart, ResultsSnapshots::copy);
+        this.afterStepStart = dispatch(stepListeners, StepLifecycleListener.class,
+                "afterStepStart", StepResult.class,
+                StepLifecycleListener::afterStepStart, ResultsSnapshots::copy);
+        this.beforeStepUpdate = dispatch(stepListeners, StepLifecycleListener.class,
+                "beforeStepUpdate", StepResult.class,
+                StepLifecycleListener::beforeStepUpdate, ResultsSnapshots::copy);
+        this.afterStepUpdate = dispatch(stepListeners, StepLifecycleListener.class,
+                "afterStepUpdate", StepResult.class,
+                StepLifecycleListener::afterStepUpdate, ResultsSnapshots::copy);
+        this.beforeStepStop = dispatch(stepListeners, StepLifecycleListener.class,
+                "beforeStepStop", StepResult.class,
+                StepLifecycleListener::beforeStepStop, ResultsSnapshots::copy);
+        this.afterStepStop = dispatch(stepListeners, StepLifecycleListener.class,
+                "afterStepStop", StepResult.class,
+                StepLifecycleListener::afterStepStop, ResultsSnapshots::copy);
+    }
+
+    /**
+     * Returns cumulative time in nanoseconds spent in each listener, keyed by
+     * listener class name. Returns empty map if timing is disabled.
+     */
+    public Map<String, Long> getListenerTimings() {
+        if (timings == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Long> result = new LinkedHashMap<>();
+        timings.forEach((listener, time) -> result.merge(listener.getClass().getName(), time.sum(), Long::sum));
+        return result;
+    }
+
+    /**
+     * Blocks until all the notifications of {@link AsyncLifecycleListener}s
+     * queued before this call are completed.
+     */
+    public void awaitAsyncListeners() {
+        if (Objects.nonNull(asyncDispatcher)) {
+            asyncDispatcher.await();
+        }
     }
 
+    /**
+     * Returns true if there are {@link AsyncLifecycleListener}s to notify.
+     */
+    public boolean hasAsyncListeners() {
+        return Objects.nonNull(asyncDispatcher);
+    }
+
+    /**
+     * Completes all the queued notifications of {@link AsyncLifecycleListener}s
+     * and stops the workers. Later notifications are run in the calling thread.
+     */
+    public void close() {
+        if (Objects.nonNull(asyncDispatcher)) {
+            asyncDispatcher.close();
+        }
+    }
 
     @Override
-    public void beforeTestSchedule(final TestResult result) {
-        testListeners.forEach(listener -> listener.beforeTestSchedule(result));
+    public void beforeContainerStart(final TestResultContainer container) {
+        beforeContainerStart.fire(container.getUuid(), container);
     }
 
     @Override
-    public void afterTestSchedule(final TestResult result) {
-        testListeners.forEach(listener -> listener.afterTestSchedule(result));
+    public void afterContainerStart(final TestResultContainer container) {
+        afterContainerStart.fire(container.getUuid(), container);
     }
 
     @Override
-    public void beforeTestUpdate(final TestResult result) {
-        testListeners.forEach(listener -> listener.beforeTestUpdate(result));
+    public void beforeContainerUpdate(final TestResultContainer container) {
+        beforeContainerUpdate.fire(container.getUuid(), container);
     }
 
     @Override
-    public void afterTestUpdate(final TestResult result) {
-        testListeners.forEach(listener -> listener.afterTestUpdate(result));
+    public void afterContainerUpdate(final TestResultContainer container) {
+        afterContainerUpdate.fire(container.getUuid(), container);
     }
 
     @Override
-    public void beforeTestStart(final TestResult result) {
-        testListeners.forEach(listener -> listener.beforeTestStart(result));
+    public void beforeContainerStop(final TestResultContainer container) {
+        beforeContainerStop.fire(container.getUuid(), container);
     }
 
     @Override
-    public void afterTestStart(final TestResult result) {
-        testListeners.forEach(listener -> listener.afterTestStart(result));
+    public void afterContainerStop(final TestResultContainer container) {
+        afterContainerStop.fire(container.getUuid(), container);
     }
 
     @Override
-    public void beforeTestStop(final TestResult result) {
-        testListeners.forEach(listener -> listener.beforeTestStop(result));
+    public void beforeContainerWrite(final TestResultContainer container) {
+        beforeContainerWrite.fire(container.getUuid(), container);
     }
 
     @Override
-    public void afterTestStop(final TestResult result) {
-        testListeners.forEach(listener -> listener.afterTestStop(result));
+    public void afterContainerWrite(final TestResultContainer container) {
+        afterContainerWrite.fire(container.getUuid(), container);
     }
 
     @Override
-    public void beforeTestWrite(final TestResult result) {
-        testListeners.forEach(listener -> listener.beforeTestWrite(result));
+    public void beforeTestSchedule(final TestResult result) {
+        beforeTestSchedule.fire(result.getUuid(), result);
     }
 
     @Override
-    public void afterTestWrite(final TestResult result) {
-        testListeners.forEach(listener -> listener.afterTestWrite(result));
+    public void afterTestSchedule(final TestResult result) {
+        afterTestSchedule.fire(result.getUuid(), result);
     }
 
     @Override
-    public void beforeContainerStart(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.beforeContainerStart(container));
+    public void beforeTestUpdate(final TestResult result) {
+        beforeTestUpdate.fire(result.getUuid(), result);
     }
 
     @Override
-    public void afterContainerStart(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.afterContainerStart(container));
+    public void afterTestUpdate(final TestResult result) {
+        afterTestUpdate.fire(result.getUuid(), result);
     }
 
     @Override
-    public void beforeContainerUpdate(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.beforeContainerUpdate(container));
+    public void beforeTestStart(final TestResult result) {
+        beforeTestStart.fire(result.getUuid(), result);
     }
 
     @Override
-    public void afterContainerUpdate(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.afterContainerUpdate(container));
+    public void afterTestStart(final TestResult result) {
+        afterTestStart.fire(result.getUuid(), result);
     }
 
     @Override
-    public void beforeContainerStop(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.beforeContainerStop(container));
+    public void beforeTestStop(final TestResult result) {
+        beforeTestStop.fire(result.getUuid(), result);
     }
 
     @Override
-    public void afterContainerStop(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.afterContainerStop(container));
+    public void afterTestStop(final TestResult result) {
+        afterTestStop.fire(result.getUuid(), result);
     }
 
     @Override
-    public void beforeContainerWrite(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.beforeContainerWrite(container));
+    public void beforeTestWrite(final TestResult result) {
+        beforeTestWrite.fire(result.getUuid(), result);
     }
 
     @Override
-    public void afterContainerWrite(final TestResultContainer container) {
-        containerListeners.forEach(listener -> listener.afterContainerWrite(container));
+    public void afterTestWrite(final TestResult result) {
+        afterTestWrite.fire(result.getUuid(), result);
     }
 
     @Override
     public void beforeFixtureStart(final FixtureResult result) {
-        fixtureListeners.forEach(listener -> listener.beforeFixtureStart(result));
+        beforeFixtureStart(null, result);
+    }
+
+    public void beforeFixtureStart(final String rootUuid, final FixtureResult result) {
+        beforeFixtureStart.fire(rootUuid, result);
     }
 
     @Override
     public void afterFixtureStart(final FixtureResult result) {
-        fixtureListeners.forEach(listener -> listener.afterFixtureStart(result));
+        afterFixtureStart(null, result);
+    }
+
+    public void afterFixtureStart(final String rootUuid, final FixtureResult result) {
+        afterFixtureStart.fire(rootUuid, result);
     }
 
     @Override
     public void beforeFixtureUpdate(final FixtureResult result) {
-        fixtureListeners.forEach(listener -> listener.beforeFixtureUpdate(result));
+        beforeFixtureUpdate(null, result);
+    }
+
+    public void beforeFixtureUpdate(final String rootUuid, final FixtureResult result) {
+        beforeFixtureUpdate.fire(rootUuid, result);
     }
 
     @Override
     public void afterFixtureUpdate(final FixtureResult result) {
-        fixtureListeners.forEach(listener -> listener.afterFixtureUpdate(result));
+        afterFixtureUpdate(null, result);
+    }
+
+    public void afterFixtureUpdate(final String rootUuid, final FixtureResult result) {
+        afterFixtureUpdate.fire(rootUuid, result);
     }
 
     @Override
     public void beforeFixtureStop(final FixtureResult result) {
-        fixtureListeners.forEach(listener -> listener.beforeFixtureStop(result));
+        beforeFixtureStop(null, result);
+    }
+
+    public void beforeFixtureStop(final String rootUuid, final FixtureResult result) {
+        beforeFixtureStop.fire(rootUuid, result);
     }
 
     @Override
     public void afterFixtureStop(final FixtureResult result) {
-        fixtureListeners.forEach(listener -> listener.afterFixtureStop(result));
+        afterFixtureStop(null, result);
+    }
+
+    public void afterFixtureStop(final String rootUuid, final FixtureResult result) {
+        afterFixtureStop.fire(rootUuid, result);
     }
 
     @Override
     public void beforeStepStart(final StepResult result) {
-        stepListeners.forEach(listener -> listener.beforeStepStart(result));
+        beforeStepStart(null, result);
+    }
+
+    public void beforeStepStart(final String rootUuid, final StepResult result) {
+        beforeStepStart.fire(rootUuid, result);
     }
 
     @Override
     public void afterStepStart(final StepResult result) {
-        stepListeners.forEach(listener -> listener.afterStepStart(result));
+        afterStepStart(null, result);
+    }
+
+    public void afterStepStart(final String rootUuid, final StepResult result) {
+        afterStepStart.fire(rootUuid, result);
     }
 
     @Override
     public void beforeStepUpdate(final StepResult result) {
-        stepListeners.forEach(listener -> listener.beforeStepUpdate(result));
+        beforeStepUpdate(null, result);
+    }
+
+    public void beforeStepUpdate(final String rootUuid, final StepResult result) {
+        beforeStepUpdate.fire(rootUuid, result);
     }
 
     @Override
     public void afterStepUpdate(final StepResult result) {
-        stepListeners.forEach(listener -> listener.afterStepUpdate(result));
+        afterStepUpdate(null, result);
+    }
+
+    public void afterStepUpdate(final String rootUuid, final StepResult result) {
+        afterStepUpdate.fire(rootUuid, result);
     }
 
     @Override
     public void beforeStepStop(final StepResult result) {
-        stepListeners.forEach(listener -> listener.beforeStepStop(result));
+        beforeStepStop(null, result);
+    }
+
+    public void beforeStepStop(final String rootUuid, final StepResult result) {
+        beforeStepStop.fire(rootUuid, result);
     }
 
     @Override
     public void afterStepStop(final StepResult result) {
-        stepListeners.forEach(listener -> listener.afterStepStop(result));
+        afterStepStop(null, result);
+    }
+
+    public void afterStepStop(final String rootUuid, final StepResult result) {
+        afterStepStop.fire(rootUuid, result);
+    }
+
+    private <L, T> Dispatch<L, T> dispatch(final List<L> listeners, final Class<L> listenerType,
+                                           final String methodName, final Class<T> argumentType,
+                                           final BiConsumer<L, T> method, final UnaryOperator<T> snapshot) {
+        final List<L> inline = new ArrayList<>();
+        final List<L> async = new ArrayList<>();
+        for (L listener : listeners) {
+            if (overrides(listener, methodName, argumentType)) {
+                if (listener instanceof AsyncLifecycleListener) {
+                    async.add(listener);
+                } else {
+                    inline.add(listener);
+                }
+            }
+        }
+        return new Dispatch<>(
+                methodName, method, snapshot, asyncDispatcher,
+                listeners(inline, listenerType), listeners(async, listenerType)
+        );
+    }
+
+    @SuppressWarnings({"unchecked", "PMD.AvoidInstantiatingObjectsInLoops"})
+    private <L> Listeners<L> listeners(final List<L> selected, final Class<L> listenerType) {
+        final L[] array = selected.toArray((L[]) Array.newInstance(listenerType, 0));
+        final LongAdder[] timers = timings == null ? null : new LongAdder[array.length];
+        if (timers != null) {
+            for (int i = 0; i < array.length; i++) {
+                timers[i] = timings.computeIfAbsent(array[i], listener -> new LongAdder());
+            }
+        }
+        return new Listeners<>(array, timers);
+    }
+
+    private static boolean hasAsync(final List<?> listeners) {
+        return listeners.stream().anyMatch(AsyncLifecycleListener.class::isInstance);
+    }
+
+    /**
+     * Returns false if the listener uses default (empty) implementation of the method.
+     */
+    private static boolean overrides(final Object listener, final String methodName, final Class<?> argumentType) {
+        try {
+            return !listener.getClass().getMethod(methodName, argumentType).isDefault();
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Listeners of the single event with their timers.
+     *
+     * @param <L> the type of listener.
+     */
+    private static final class Listeners<L> {
+
+        private final L[] items;
+
+        private final LongAdder[] timers;
+
+        @SuppressWarnings("PMD.UseVarargs")
+        Listeners(final L[] items, final LongAdder[] timers) {
+            this.items = items;
+            this.timers = timers;
+        }
+
+        public boolean isEmpty() {
+            return items.length == 0;
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public <T> void fire(final String name, final BiConsumer<L, T> method, final T argument) {
+            for (int i = 0; i < items.length; i++) {
+                final long start = timers == null ? 0 : System.nanoTime();
+                try {
+                    method.accept(items[i], argument);
+                } catch (Exception e) {
+                    LOGGER.error("Listener {} failed on {}", items[i].getClass().getName(), name, e);
+                }
+                if (timers != null) {
+                    timers[i].add(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prepared dispatch of the single event.
+     *
+     * @param <L> the type of listener.
+     * @param <T> the type of event argument.
+     */
+    private static final class Dispatch<L, T> {
+
+        private final String name;
+
+        private final BiConsumer<L, T> method;
+
+        private final UnaryOperator<T> snapshot;
+
+        private final AsyncListenerDispatcher asyncDispatcher;
+
+        private final Listeners<L> inline;
+
+        private final Listeners<L> async;
+
+        @SuppressWarnings("PMD.ExcessiveParameterList")
+        Dispatch(final String name, final BiConsumer<L, T> method, final UnaryOperator<T> snapshot,
+                 final AsyncListenerDispatcher asyncDispatcher,
+                 final Listeners<L> inline, final Listeners<L> async) {
+            this.name = name;
+            this.method = method;
+            this.snapshot = snapshot;
+            this.asyncDispatcher = asyncDispatcher;
+            this.inline = inline;
+            this.async = async;
+        }
+
+        public void fire(final String key, final T argument) {
+            inline.fire(name, method, argument);
+            if (!async.isEmpty()) {
+                final T copy = snapshot.apply(argument);
+                asyncDispatcher.submit(key, () -> async.fire(name, method, copy));
+            }
+        }
     }
 }
@@ -0,0 +1,127 @@
+package io.qameta.allure.listener;
+
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Link;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.LazyParameter;
+import io.qameta.allure.util.LazyStatusDetails;
+
+import java.util.Objects;
+
+/**
+ * Snapshots of results passed to asynchronous listeners. The item and its running
+ * steps are copied, while finished steps are shared with the result, since the
+ * lifecycle doesn't change them anymore, so the snapshot costs the running part of
+ * the tree rather than the whole tree. Lazy status details and parameters are shared
+ * as well, so they are rendered only if the listener reads them, off the test thread.
+ */
+@SuppressWarnings("ClassDataAbstractionCoupling")
+final class ResultsSnapshots {
+
+    private ResultsSnapshots() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static TestResultContainer copy(final TestResultContainer source) {
+        final TestResultContainer copy = new TestResultContainer()
+                .withUuid(source.getUuid())
+                .withName(source.getName())
+                .withDescription(source.getDescription())
+                .withDescriptionHtml(source.getDescriptionHtml())
+                .withStart(source.getStart())
+                .withStop(source.getStop());
+        copy.getChildren().addAll(source.getChildren());
+        source.getBefores().forEach(fixture -> copy.getBefores().add(copy(fixture)));
+        source.getAfters().forEach(fixture -> copy.getAfters().add(copy(fixture)));
+        source.getLinks().forEach(link -> copy.getLinks().add(copy(link)));
+        return copy;
+    }
+
+    public static TestResult copy(final TestResult source) {
+        final TestResult copy = copyItem(source, new TestResult())
+                .withUuid(source.getUuid())
+                .withHistoryId(source.getHistoryId())
+                .withTestCaseId(source.getTestCaseId())
+                .withRerunOf(source.getRerunOf())
+                .withFullName(source.getFullName());
+        source.getLabels().forEach(label -> copy.getLabels().add(copy(label)));
+        source.getLinks().forEach(link -> copy.getLinks().add(copy(link)));
+        return copy;
+    }
+
+    public static FixtureResult copy(final FixtureResult source) {
+        return copyItem(source, new FixtureResult());
+    }
+
+    public static StepResult copy(final StepResult source) {
+        return copyItem(source, new StepResult());
+    }
+
+    private static StatusDetails copy(final StatusDetails source) {
+        if (Objects.isNull(source) || source instanceof LazyStatusDetails) {
+            return source;
+        }
+        return new StatusDetails()
+                .withKnown(source.isKnown())
+                .withMuted(source.isMuted())
+                .withFlaky(source.isFlaky())
+                .withMessage(source.getMessage())
+                .withTrace(source.getTrace());
+    }
+
+    private static Attachment copy(final Attachment source) {
+        return new Attachment()
+                .withName(source.getName())
+                .withSource(source.getSource())
+                .withType(source.getType());
+    }
+
+    private static Parameter copy(final Parameter source) {
+        if (source instanceof LazyParameter) {
+            return source;
+        }
+        return new Parameter()
+                .withName(source.getName())
+                .withValue(source.getValue());
+    }
+
+    private static Label copy(final Label source) {
+        return new Label()
+                .withName(source.getName())
+                .withValue(source.getValue());
+    }
+
+    private static Link copy(final Link source) {
+        return new Link()
+                .withName(source.getName())
+                .withUrl(source.getUrl())
+                .withType(source.getType());
+    }
+
+    private static <T extends ExecutableItem> T copyItem(final T source, final T copy) {
+        copy.setName(source.getName());
+        copy.setStatus(source.getStatus());
+        copy.setStatusDetails(copy(source.getStatusDetails()));
+        copy.setStage(source.getStage());
+        copy.setDescription(source.getDescription());
+        copy.setDescriptionHtml(source.getDescriptionHtml());
+        copy.setStart(source.getStart());
+        copy.setStop(source.getStop());
+        source.getSteps().forEach(step -> copy.getSteps().add(isFinished(step) ? step : copy(step)));
+        source.getAttachments().forEach(attachment -> copy.getAttachments().add(copy(attachment)));
+        source.getParameters().forEach(parameter -> copy.getParameters().add(copy(parameter)));
+        return copy;
+    }
+
+    private static boolean isFinished(final StepResult step) {
+        return Stage.FINISHED.equals(step.getStage());
+    }
+}
@@ -0,0 +1,228 @@
+package io.qameta.allure.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static io.qameta.allure.util.ResultsUtils.ALLURE_SEPARATE_LINES_SYSPROP;
+import static io.qameta.allure.util.ResultsUtils.getLinkTypePatternPropertyName;
+
+/**
+ * Snapshot of Allure properties loaded from {@code allure.properties} file and
+ * system properties. The shared snapshot is loaded on first use; call {@link #reload()}
+ * to pick up properties changed after that. Link patterns are parsed once per link type.
+ * The stack trace renderer and the parameter formatter are created once per snapshot.
+ * Malformed numeric and enum values are logged and replaced with the defaults.
+ *
+ * @since 2.7
+ */
+public final class AllureConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllureConfiguration.class);
+
+    private static final String LINK_PLACEHOLDER = "{}";
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private static volatile AllureConfiguration instance;
+
+    private final Properties properties;
+
+    private final boolean separateLines;
+
+    private final StackTraceRenderer stackTraceRenderer;
+
+    private final ParameterFormatter parameterFormatter;
+
+    private final Map<String, Optional<LinkPattern>> linkPatterns = new ConcurrentHashMap<>();
+
+    public AllureConfiguration(final Properties properties) {
+        Objects.requireNonNull(properties, "Properties can't be null");
+        this.properties = new Properties();
+        this.properties.putAll(properties);
+        this.separateLines = getBoolean(ALLURE_SEPARATE_LINES_SYSPROP, false);
+        this.stackTraceRenderer = StackTraceRenderer.fromProperties(this.properties);
+        this.parameterFormatter = new ParameterFormatter(
+                getPositiveInt(ParameterFormatter.MAX_LENGTH_PROPERTY, ParameterFormatter.DEFAULT_MAX_LENGTH),
+                getPositiveInt(ParameterFormatter.MAX_ELEMENTS_PROPERTY, ParameterFormatter.DEFAULT_MAX_ELEMENTS),
+                getBoolean(ParameterFormatter.LAZY_PROPERTY, false)
+        );
+    }
+
+    /**
+     * Returns the shared configuration, loading it on first call.
+     */
+    @SuppressWarnings("PMD.SingletonClassReturningNewInstance")
+    public static AllureConfiguration getInstance() {
+        AllureConfiguration current = instance;
+        if (Objects.isNull(current)) {
+            synchronized (AllureConfiguration.class) {
+                current = instance;
+                if (Objects.isNull(current)) {
+                    current = new AllureConfiguration(PropertiesUtils.loadAllureProperties());
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Loads the properties again and replaces the shared configuration.
+     * Lifecycles already created keep the configuration they were created with.
+     */
+    public static AllureConfiguration reload() {
+        synchronized (AllureConfiguration.class) {
+            instance = new AllureConfiguration(PropertiesUtils.loadAllureProperties());
+            return instance;
+        }
+    }
+
+    /**
+     * Returns the copy of all the properties of this configuration.
+     */
+    public Properties getProperties() {
+        final Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    public String getProperty(final String name) {
+        return properties.getProperty(name);
+    }
+
+    public String getProperty(final String name, final String defaultValue) {
+        return properties.getProperty(name, defaultValue);
+    }
+
+    public boolean getBoolean(final String name, final boolean defaultValue) {
+        final String value = properties.getProperty(name);
+        return Objects.isNull(value) ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public int getInt(final String name, final int defaultValue) {
+        final String value = properties.getProperty(name);
+        try {
+            return Objects.isNull(value) ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return invalidValue(name, value, defaultValue);
+        }
+    }
+
+    public long getLong(final String name, final long defaultValue) {
+        final String value = properties.getProperty(name);
+        try {
+            return Objects.isNull(value) ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return invalidValue(name, value, defaultValue);
+        }
+    }
+
+    /**
+     * Returns the value of the property, or the default value if the value is not positive.
+     */
+    public int getPositiveInt(final String name, final int defaultValue) {
+        final int value = getInt(name, defaultValue);
+        return value > 0 ? value : invalidValue(name, String.valueOf(value), defaultValue);
+    }
+
+    /**
+     * Returns the value of the property, or the default value if the value is not positive.
+     */
+    public long getPositiveLong(final String name, final long defaultValue) {
+        final long value = getLong(name, defaultValue);
+        return value > 0 ? value : invalidValue(name, String.valueOf(value), defaultValue);
+    }
+
+    /**
+     * Returns the enum constant named by the property value, ignoring case.
+     */
+    public <T extends Enum<T>> T getEnum(final String name, final Class<T> type, final T defaultValue) {
+        final String value = properties.getProperty(name);
+        try {
+            return Objects.isNull(value) ? defaultValue : Enum.valueOf(type, value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return invalidValue(name, value, defaultValue);
+        }
+    }
+
+    /**
+     * Returns true if lines of javadoc descriptions should be separated by line breaks.
+     */
+    public boolean isSeparateLines() {
+        return separateLines;
+    }
+
+    /**
+     * Returns the stack trace renderer configured by this configuration.
+     */
+    public StackTraceRenderer getStackTraceRenderer() {
+        return stackTraceRenderer;
+    }
+
+    /**
+     * Returns the parameter formatter configured by this configuration.
+     */
+    public ParameterFormatter getParameterFormatter() {
+        return parameterFormatter;
+    }
+
+    /**
+     * Returns the url of the link built from the pattern of given link type, or null if
+     * there is no pattern for the type. Each {@code {}} in the pattern is replaced with
+     * the link name.
+     *
+     * @param type the link type.
+     * @param name the link name, can be null.
+     */
+    public String getLinkUrl(final String type, final String name) {
+        return linkPatterns.computeIfAbsent(getLinkTypePatternPropertyName(type), this::compileLinkPattern)
+                .map(pattern -> pattern.format(Objects.isNull(name) ? "" : name))
+                .orElse(null);
+    }
+
+    private static <T> T invalidValue(final String name, final String value, final T defaultValue) {
+        LOGGER.warn("Invalid value \"{}\" of property {}, using default value {}", value, name, defaultValue);
+        return defaultValue;
+    }
+
+    private Optional<LinkPattern> compileLinkPattern(final String propertyName) {
+        return Optional.ofNullable(properties.getProperty(propertyName))
+                .map(LinkPattern::new);
+    }
+
+    /**
+     * Link pattern split by placeholders.
+     */
+    private static final class LinkPattern {
+
+        private final String[] parts;
+
+        private final int length;
+
+        @SuppressWarnings("PMD.AccessorMethodGeneration")
+        LinkPattern(final String pattern) {
+            this.parts = pattern.split(Pattern.quote(LINK_PLACEHOLDER), -1);
+            this.length = pattern.length();
+        }
+
+        @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+        public String format(final String name) {
+            if (parts.length == 1) {
+                return parts[0];
+            }
+            final StringBuilder builder = new StringBuilder(length + name.length() * (parts.length - 1));
+            builder.append(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                builder.append(name).append(parts[i]);
+            }
+            return builder.toString();
+        }
+    }
+}
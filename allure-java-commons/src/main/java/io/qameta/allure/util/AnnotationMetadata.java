@@ -0,0 +1,287 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Flaky;
+import io.qameta.allure.Issue;
+import io.qameta.allure.Muted;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.Story;
+import io.qameta.allure.TmsLink;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Link;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Labels and links of the class or method created from Allure annotations, including
+ * repeatable containers. The annotation values are read once per class and method and
+ * cached; each call of the getters returns new labels and links, so they can be modified
+ * by the caller. Link urls are resolved on each call using the current configuration,
+ * see {@link AllureConfiguration#reload()}.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.ExcessiveImports")
+public final class AnnotationMetadata {
+
+    /**
+     * Label annotations in the order labels are returned by {@link #getLabels()}.
+     */
+    public static final List<Class<? extends Annotation>> LABEL_ANNOTATIONS = Collections.unmodifiableList(
+            Arrays.asList(Epic.class, Feature.class, Story.class, Severity.class, Owner.class)
+    );
+
+    /**
+     * Link annotations in the order links are returned by {@link #getLinks()}.
+     */
+    public static final List<Class<? extends Annotation>> LINK_ANNOTATIONS = Collections.unmodifiableList(
+            Arrays.asList(io.qameta.allure.Link.class, Issue.class, TmsLink.class)
+    );
+
+    private static final AnnotationMetadata EMPTY = new AnnotationMetadata(
+            Collections.emptyMap(), Collections.emptyMap(), false, false);
+
+    private static final ClassValue<AnnotationMetadata> CLASSES = new ClassValue<AnnotationMetadata>() {
+        @Override
+        protected AnnotationMetadata computeValue(final Class<?> type) {
+            return fromElement(type);
+        }
+    };
+
+    private static final ClassValue<Map<Method, AnnotationMetadata>> METHODS = new MethodCache();
+
+    private static final ClassValue<Map<Method, AnnotationMetadata>> TESTS = new MethodCache();
+
+    private final Map<Class<? extends Annotation>, List<Label>> labels;
+
+    private final Map<Class<? extends Annotation>, List<LinkValues>> links;
+
+    private final List<Label> allLabels;
+
+    private final List<LinkValues> allLinks;
+
+    private final boolean flaky;
+
+    private final boolean muted;
+
+    private AnnotationMetadata(final Map<Class<? extends Annotation>, List<Label>> labels,
+                               final Map<Class<? extends Annotation>, List<LinkValues>> links,
+                               final boolean flaky, final boolean muted) {
+        this.labels = labels;
+        this.links = links;
+        this.allLabels = flatten(LABEL_ANNOTATIONS, labels);
+        this.allLinks = flatten(LINK_ANNOTATIONS, links);
+        this.flaky = flaky;
+        this.muted = muted;
+    }
+
+    /**
+     * Returns the metadata of the class.
+     *
+     * @param type the class.
+     */
+    public static AnnotationMetadata of(final Class<?> type) {
+        return CLASSES.get(type);
+    }
+
+    /**
+     * Returns the metadata of the method.
+     *
+     * @param method the method.
+     */
+    public static AnnotationMetadata of(final Method method) {
+        return METHODS.get(method.getDeclaringClass()).computeIfAbsent(method, AnnotationMetadata::fromElement);
+    }
+
+    /**
+     * Returns the metadata of the test method of the test class. Labels of each type
+     * are taken from the method, or from the class if the method has no labels of that
+     * type. Links are taken from both the class and the method. The test is flaky or
+     * muted if either the class or the method is annotated.
+     *
+     * @param testClass the test class, can be null.
+     * @param method    the test method, can be null.
+     */
+    @SuppressWarnings("ReturnCount")
+    public static AnnotationMetadata of(final Class<?> testClass, final Method method) {
+        if (Objects.isNull(testClass)) {
+            return Objects.isNull(method) ? EMPTY : of(method);
+        }
+        if (Objects.isNull(method)) {
+            return of(testClass);
+        }
+        return TESTS.get(testClass).computeIfAbsent(method, key -> merge(of(testClass), of(key)));
+    }
+
+    /**
+     * Returns all the labels in the order of {@link #LABEL_ANNOTATIONS}.
+     */
+    public List<Label> getLabels() {
+        return copyLabels(allLabels);
+    }
+
+    /**
+     * Returns the labels created from annotations of given type.
+     *
+     * @param annotation the label annotation type.
+     */
+    public List<Label> getLabels(final Class<? extends Annotation> annotation) {
+        return copyLabels(labels.getOrDefault(annotation, Collections.emptyList()));
+    }
+
+    /**
+     * Returns all the links in the order of {@link #LINK_ANNOTATIONS}.
+     */
+    public List<Link> getLinks() {
+        return createLinks(allLinks);
+    }
+
+    /**
+     * Returns the links created from annotations of given type.
+     *
+     * @param annotation the link annotation type.
+     */
+    public List<Link> getLinks(final Class<? extends Annotation> annotation) {
+        return createLinks(links.getOrDefault(annotation, Collections.emptyList()));
+    }
+
+    public boolean isFlaky() {
+        return flaky;
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
+
+    private static AnnotationMetadata fromElement(final AnnotatedElement element) {
+        final Map<Class<? extends Annotation>, List<Label>> labels = new HashMap<>();
+        labels.put(Epic.class, create(element, Epic.class, ResultsUtils::createLabel));
+        labels.put(Feature.class, create(element, Feature.class, ResultsUtils::createLabel));
+        labels.put(Story.class, create(element, Story.class, ResultsUtils::createLabel));
+        labels.put(Severity.class, create(element, Severity.class, ResultsUtils::createLabel));
+        labels.put(Owner.class, create(element, Owner.class, ResultsUtils::createLabel));
+        final Map<Class<? extends Annotation>, List<LinkValues>> links = new HashMap<>();
+        links.put(io.qameta.allure.Link.class, create(element, io.qameta.allure.Link.class, LinkValues::new));
+        links.put(Issue.class, create(element, Issue.class, LinkValues::new));
+        links.put(TmsLink.class, create(element, TmsLink.class, LinkValues::new));
+        return new AnnotationMetadata(labels, links,
+                element.isAnnotationPresent(Flaky.class), element.isAnnotationPresent(Muted.class));
+    }
+
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static AnnotationMetadata merge(final AnnotationMetadata onClass, final AnnotationMetadata onMethod) {
+        final Map<Class<? extends Annotation>, List<Label>> labels = new HashMap<>();
+        for (Class<? extends Annotation> type : LABEL_ANNOTATIONS) {
+            final List<Label> methodLabels = onMethod.labels.getOrDefault(type, Collections.emptyList());
+            labels.put(type, methodLabels.isEmpty()
+                    ? onClass.labels.getOrDefault(type, Collections.emptyList())
+                    : methodLabels);
+        }
+        final Map<Class<? extends Annotation>, List<LinkValues>> links = new HashMap<>();
+        for (Class<? extends Annotation> type : LINK_ANNOTATIONS) {
+            final List<LinkValues> merged = new ArrayList<>(onClass.links.getOrDefault(type, Collections.emptyList()));
+            merged.addAll(onMethod.links.getOrDefault(type, Collections.emptyList()));
+            links.put(type, Collections.unmodifiableList(merged));
+        }
+        return new AnnotationMetadata(labels, links,
+                onClass.isFlaky() || onMethod.isFlaky(), onClass.isMuted() || onMethod.isMuted());
+    }
+
+    private static <T extends Annotation, R> List<R> create(final AnnotatedElement element, final Class<T> type,
+                                                            final Function<T, R> factory) {
+        final T[] annotations = element.getAnnotationsByType(type);
+        if (annotations.length == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Stream.of(annotations).map(factory).collect(Collectors.toList()));
+    }
+
+    private static <T> List<T> flatten(final List<Class<? extends Annotation>> types,
+                                       final Map<Class<? extends Annotation>, List<T>> values) {
+        final List<T> result = types.stream()
+                .map(type -> values.getOrDefault(type, Collections.emptyList()))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        return result.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(result);
+    }
+
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static List<Label> copyLabels(final List<Label> labels) {
+        final List<Label> result = new ArrayList<>(labels.size());
+        for (Label label : labels) {
+            result.add(new Label().withName(label.getName()).withValue(label.getValue()));
+        }
+        return result;
+    }
+
+    private static List<Link> createLinks(final List<LinkValues> links) {
+        final List<Link> result = new ArrayList<>(links.size());
+        for (LinkValues link : links) {
+            result.add(link.toLink());
+        }
+        return result;
+    }
+
+    /**
+     * Values of the link annotation.
+     */
+    private static final class LinkValues {
+
+        private final String value;
+
+        private final String name;
+
+        private final String url;
+
+        private final String type;
+
+        LinkValues(final io.qameta.allure.Link link) {
+            this(link.value(), link.name(), link.url(), link.type());
+        }
+
+        LinkValues(final Issue issue) {
+            this(issue.value(), null, null, ResultsUtils.ISSUE_LINK_TYPE);
+        }
+
+        LinkValues(final TmsLink tmsLink) {
+            this(tmsLink.value(), null, null, ResultsUtils.TMS_LINK_TYPE);
+        }
+
+        private LinkValues(final String value, final String name, final String url, final String type) {
+            this.value = value;
+            this.name = name;
+            this.url = url;
+            this.type = type;
+        }
+
+        public Link toLink() {
+            return ResultsUtils.createLink(value, name, url, type);
+        }
+    }
+
+    /**
+     * Cache of method metadata per class.
+     */
+    private static final class MethodCache extends ClassValue<Map<Method, AnnotationMetadata>> {
+
+        @Override
+        protected Map<Method, AnnotationMetadata> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -3,11 +3,8 @@ package io.qameta.allure.util;
 import io.qameta.allure.model.Parameter;
 import org.aspectj.lang.reflect.MethodSignature;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.IntStream;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -19,11 +16,27 @@ public final class AspectUtils {
     }
 
     public static Parameter[] getParameters(final MethodSignature signature, final Object... args) {
-        return IntStream.range(0, args.length).mapToObj(index -> {
-            final String name = signature.getParameterNames()[index];
-            final String value = objectToString(args[index]);
-            return new Parameter().withName(name).withValue(value);
-        }).toArray(Parameter[]::new);
+        return getParameters(signature.getParameterNames(), args);
+    }
+
+    /**
+     * Returns the step parameters for given arguments. If lazy parameters are enabled,
+     * the arguments are converted to string only when the values are requested.
+     *
+     * @param parameterNames the names of the parameters.
+     * @param args           the arguments.
+     * @see ParameterFormatter#LAZY_PROPERTY
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public static Parameter[] getParameters(final String[] parameterNames, final Object... args) {
+        final ParameterFormatter formatter = ParameterFormatter.getDefault();
+        final Parameter[] parameters = new Parameter[args.length];
+        for (int i = 0; i < args.length; i++) {
+            parameters[i] = formatter.isLazy()
+                    ? new LazyParameter(parameterNames[i], args[i], formatter)
+                    : new Parameter().withName(parameterNames[i]).withValue(formatter.format(args[i]));
+        }
+        return parameters;
     }
 
     public static Map<String, Object> getParametersMap(final MethodSignature signature, final Object... args) {
@@ -37,10 +50,13 @@ public final class AspectUtils {
         return params;
     }
 
+    /**
+     * Converts the object to string of limited size.
+     *
+     * @param object the object to convert.
+     * @see ParameterFormatter
+     */
     public static String objectToString(final Object object) {
-        if (Objects.nonNull(object) && (object instanceof Object[])) {
-            return Arrays.toString((Object[]) object);
-        }
-        return Objects.toString(object);
+        return ParameterFormatter.getDefault().format(object);
     }
 }
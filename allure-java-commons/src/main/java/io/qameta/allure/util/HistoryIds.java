@@ -0,0 +1,177 @@
+package io.qameta.allure.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * MD5 based history ids. Digests and encoding buffers are reused per thread.
+ * History ids are lowercase hex strings without leading zeros, the same as
+ * {@code new BigInteger(1, digest).toString(16)}, so the ids stay the same as
+ * the ids of the previous versions.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings({"PMD.AccessorMethodGeneration", "PMD.AvoidFieldNameMatchingMethodName"})
+public final class HistoryIds {
+
+    private static final String MD_5 = "MD5";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
+
+    private HistoryIds() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Returns the history id of the string.
+     *
+     * @param source the string to hash.
+     */
+    public static String md5(final String source) {
+        return hasher().update(source).toHistoryId();
+    }
+
+    /**
+     * Returns the reset hasher of the current thread. The hash of the parts added to
+     * the hasher is the same as the hash of their concatenation. The hasher is shared
+     * by all the callers in the thread, so the result should be taken before the next
+     * call of this method.
+     */
+    public static Hasher hasher() {
+        final Hasher hasher = HASHER.get();
+        hasher.reset();
+        return hasher;
+    }
+
+    /**
+     * Converts bytes to lowercase hex string of fixed length.
+     *
+     * @param bytes the bytes to convert.
+     */
+    public static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Converts bytes to lowercase hex string without leading zeros,
+     * the same as {@code new BigInteger(1, bytes).toString(16)}.
+     *
+     * @param bytes the bytes to convert.
+     */
+    public static String toCompactHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        int length = 0;
+        for (byte value : bytes) {
+            final int high = (value >> 4) & 0xF;
+            if (length != 0 || high != 0) {
+                chars[length++] = HEX[high];
+            }
+            final int low = value & 0xF;
+            if (length != 0 || low != 0) {
+                chars[length++] = HEX[low];
+            }
+        }
+        return length == 0 ? "0" : new String(chars, 0, length);
+    }
+
+    /**
+     * Streaming MD5 hasher. Strings are encoded to UTF-8 directly into the reused buffer.
+     */
+    public static final class Hasher {
+
+        private static final int BUFFER_SIZE = 1024;
+
+        private static final int MAX_CHAR_BYTES = 4;
+
+        private final MessageDigest digest;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private int size;
+
+        Hasher() {
+            try {
+                this.digest = MessageDigest.getInstance(MD_5);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Could not find md5 hashing algorithm", e);
+            }
+        }
+
+        /**
+         * Adds UTF-8 bytes of the string to the hash.
+         *
+         * @param value the string to add.
+         */
+        @SuppressWarnings({"ModifiedControlVariable", "PMD.AvoidLiteralsInIfCondition"})
+        public Hasher update(final String value) {
+            final int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (size > BUFFER_SIZE - MAX_CHAR_BYTES) {
+                    flush();
+                }
+                final char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[size++] = (byte) (0xC0 | c >> 6);
+                    buffer[size++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[size++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[size++] = (byte) (0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    buffer[size++] = '?';
+                } else {
+                    buffer[size++] = (byte) (0xE0 | c >> 12);
+                    buffer[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[size++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Returns the hash of the added strings.
+         */
+        public byte[] digest() {
+            flush();
+            return digest.digest();
+        }
+
+        /**
+         * Returns the history id of the added strings.
+         */
+        public String toHistoryId() {
+            return toCompactHex(digest());
+        }
+
+        /**
+         * Returns the hash of the added strings as the lowercase hex string of fixed length.
+         */
+        public String toHex() {
+            return HistoryIds.toHex(digest());
+        }
+
+        private void flush() {
+            if (size != 0) {
+                digest.update(buffer, 0, size);
+                size = 0;
+            }
+        }
+
+        private void reset() {
+            size = 0;
+            digest.reset();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StepResult;
+
+import java.util.Objects;
+
+/**
+ * Parameter that keeps the argument and converts it to string on first access
+ * to the value. {@link #renderAll(ExecutableItem)} should be called before the
+ * result is written, so the values are set and the arguments are released.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
+public final class LazyParameter extends Parameter {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Object RENDERED = new Object();
+
+    private transient Object argument;
+
+    private final transient ParameterFormatter formatter;
+
+    private transient boolean rendered;
+
+    public LazyParameter(final String name, final Object argument, final ParameterFormatter formatter) {
+        super();
+        setName(name);
+        this.argument = argument;
+        this.formatter = Objects.requireNonNull(formatter, "Formatter can't be null");
+    }
+
+    @Override
+    public String getValue() {
+        render();
+        return super.getValue();
+    }
+
+    @Override
+    public synchronized void setValue(final String value) {
+        rendered = true;
+        argument = null;
+        super.setValue(value);
+    }
+
+    @Override
+    public Parameter withValue(final String value) {
+        setValue(value);
+        return this;
+    }
+
+    /**
+     * Converts the argument to string, if it is not converted yet.
+     */
+    public synchronized void render() {
+        if (!rendered) {
+            setValue(formatter.format(argument));
+        }
+    }
+
+    /**
+     * Returns true if both parameters have the same value. Lazy parameters that are
+     * not rendered yet are compared by their arguments, so the check doesn't render them.
+     *
+     * @param first  the first parameter.
+     * @param second the second parameter.
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public static boolean hasSameValue(final Parameter first, final Parameter second) {
+        final Object firstArgument = getArgument(first);
+        final Object secondArgument = getArgument(second);
+        if (firstArgument == RENDERED || secondArgument == RENDERED) {
+            return Objects.equals(first.getValue(), second.getValue());
+        }
+        return ((LazyParameter) first).formatter == ((LazyParameter) second).formatter
+                && Objects.deepEquals(firstArgument, secondArgument);
+    }
+
+    private static Object getArgument(final Parameter parameter) {
+        return parameter instanceof LazyParameter ? ((LazyParameter) parameter).getArgument() : RENDERED;
+    }
+
+    private synchronized Object getArgument() {
+        return rendered ? RENDERED : argument;
+    }
+
+    /**
+     * Renders lazy parameters of the item and all its steps.
+     *
+     * @param item the item to process.
+     */
+    public static void renderAll(final ExecutableItem item) {
+        for (Parameter parameter : item.getParameters()) {
+            if (parameter instanceof LazyParameter) {
+                ((LazyParameter) parameter).render();
+            }
+        }
+        for (StepResult step : item.getSteps()) {
+            renderAll(step);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Status details that keep the throwable and convert it to stack trace on first
+ * access to the trace. {@link #renderAll(ExecutableItem)} should be called before
+ * the result is written, so the traces are set and the throwables are released.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
+public final class LazyStatusDetails extends StatusDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Throwable throwable;
+
+    private final transient StackTraceRenderer renderer;
+
+    private transient boolean rendered;
+
+    public LazyStatusDetails(final Throwable throwable, final StackTraceRenderer renderer) {
+        super();
+        this.throwable = Objects.requireNonNull(throwable, "Throwable can't be null");
+        this.renderer = Objects.requireNonNull(renderer, "Renderer can't be null");
+    }
+
+    @Override
+    public String getTrace() {
+        render();
+        return super.getTrace();
+    }
+
+    @Override
+    public synchronized void setTrace(final String trace) {
+        rendered = true;
+        throwable = null;
+        super.setTrace(trace);
+    }
+
+    @Override
+    public StatusDetails withTrace(final String trace) {
+        setTrace(trace);
+        return this;
+    }
+
+    /**
+     * Converts the throwable to stack trace, if it is not converted yet.
+     */
+    public synchronized void render() {
+        if (!rendered) {
+            setTrace(renderer.render(throwable));
+        }
+    }
+
+    private synchronized void render(final Map<Throwable, String> traces) {
+        if (!rendered) {
+            setTrace(traces.computeIfAbsent(throwable, renderer::render));
+        }
+    }
+
+    /**
+     * Renders lazy status details of the item and all its steps. The throwable
+     * that failed several nested steps is rendered once and the steps share the trace.
+     *
+     * @param item the item to process.
+     */
+    public static void renderAll(final ExecutableItem item) {
+        renderAll(item, new IdentityHashMap<>());
+    }
+
+    private static void renderAll(final ExecutableItem item, final Map<Throwable, String> traces) {
+        if (item.getStatusDetails() instanceof LazyStatusDetails) {
+            ((LazyStatusDetails) item.getStatusDetails()).render(traces);
+        }
+        for (StepResult step : item.getSteps()) {
+            renderAll(step, traces);
+        }
+    }
+}
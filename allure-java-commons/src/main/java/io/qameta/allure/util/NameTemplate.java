@@ -0,0 +1,195 @@
+package io.qameta.allure.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parsed name template, such as {@code "Login as {user.name}"}. The template is
+ * parsed once, so formatting does not need any regular expressions. Templates can
+ * be bound to the method signature, see {@link #bind(String, String[])}, then
+ * placeholders are resolved to argument indexes and no parameters map is needed.
+ *
+ * @see NamingUtils#processNameTemplate(String, Map)
+ * @since 2.7
+ */
+@SuppressWarnings({"PMD.AccessorMethodGeneration", "PMD.AvoidFieldNameMatchingMethodName"})
+public final class NameTemplate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NameTemplate.class);
+
+    private static final String METHOD_PARAMETER = "method";
+
+    private static final int MISSING = -1;
+
+    private static final int METHOD_NAME = -2;
+
+    private static final int MAP_LOOKUP = -3;
+
+    private final Segment[] segments;
+
+    private final String methodName;
+
+    private NameTemplate(final Segment[] segments, final String methodName) {
+        this.segments = segments;
+        this.methodName = methodName;
+    }
+
+    /**
+     * Parses the given template. Use {@link NamingUtils#getTemplate(String)} to get
+     * the cached parsed template.
+     *
+     * @param template the template to parse.
+     */
+    @SuppressWarnings({"PMD.DefaultPackage", "PMD.CommentDefaultAccessModifier"})
+    static NameTemplate compile(final String template) {
+        final List<Segment> segments = new ArrayList<>();
+        int start = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            final int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (open > start) {
+                segments.add(Segment.text(template.substring(start, open)));
+            }
+            segments.add(Segment.placeholder(template.substring(open + 1, close)));
+            start = close + 1;
+            open = template.indexOf('{', start);
+        }
+        if (start < template.length()) {
+            segments.add(Segment.text(template.substring(start)));
+        }
+        return new NameTemplate(segments.toArray(new Segment[segments.size()]), null);
+    }
+
+    /**
+     * Returns the template with placeholders resolved for the method with given
+     * name and parameter names. The placeholders can refer parameters by name,
+     * by index and the method name as {@code {method}}.
+     *
+     * @param method         the name of the method.
+     * @param parameterNames the names of the method parameters.
+     */
+    public NameTemplate bind(final String method, final String... parameterNames) {
+        final Segment[] bound = new Segment[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            bound[i] = segments[i].bind(parameterNames);
+        }
+        return new NameTemplate(bound, method);
+    }
+
+    /**
+     * Formats the template with given parameters.
+     *
+     * @param params the parameters map.
+     */
+    public String format(final Map<String, Object> params) {
+        final StringBuilder sb = new StringBuilder();
+        for (Segment segment : segments) {
+            if (segment.isText()) {
+                sb.append(segment.text);
+            } else if (!segment.pattern.isEmpty() && params.containsKey(segment.parameterName)) {
+                sb.append(segment.extract(params.get(segment.parameterName)));
+            } else {
+                sb.append(segment.missing());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats the bound template with given method arguments.
+     *
+     * @param args the method arguments.
+     */
+    public String format(final Object... args) {
+        final StringBuilder sb = new StringBuilder();
+        for (Segment segment : segments) {
+            if (segment.isText()) {
+                sb.append(segment.text);
+            } else if (segment.index == METHOD_NAME) {
+                sb.append(segment.extract(methodName));
+            } else if (segment.index >= 0 && segment.index < args.length) {
+                sb.append(segment.extract(args[segment.index]));
+            } else {
+                sb.append(segment.missing());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Template text or placeholder.
+     */
+    private static final class Segment {
+
+        private final String text;
+
+        private final String pattern;
+
+        private final String parameterName;
+
+        private final String[] parts;
+
+        private final int index;
+
+        private Segment(final String text, final String pattern, final String[] parts, final int index) {
+            this.text = text;
+            this.pattern = pattern;
+            this.parts = parts;
+            this.parameterName = Objects.isNull(parts) || parts.length == 0 ? "" : parts[0];
+            this.index = index;
+        }
+
+        public static Segment text(final String text) {
+            return new Segment(text, null, null, MISSING);
+        }
+
+        public static Segment placeholder(final String pattern) {
+            return new Segment(null, pattern, pattern.split("\\."), MAP_LOOKUP);
+        }
+
+        public boolean isText() {
+            return Objects.nonNull(text);
+        }
+
+        public Segment bind(final String... parameterNames) {
+            if (isText() || pattern.isEmpty()) {
+                return this;
+            }
+            return new Segment(null, pattern, parts, resolve(parameterNames));
+        }
+
+        /**
+         * Resolves the parameter the same way as {@link AspectUtils#getParametersMap}
+         * fills the parameters map: indexes and names of parameters override the method name.
+         */
+        private int resolve(final String... parameterNames) {
+            for (int i = parameterNames.length - 1; i >= 0; i--) {
+                if (parameterName.equals(parameterNames[i]) || parameterName.equals(Integer.toString(i))) {
+                    return i;
+                }
+            }
+            return METHOD_PARAMETER.equals(parameterName) ? METHOD_NAME : MISSING;
+        }
+
+        public String extract(final Object value) {
+            return NamingUtils.extractProperties(value, parts, 1);
+        }
+
+        public String missing() {
+            if (pattern.isEmpty()) {
+                LOGGER.error("Could not process empty pattern");
+            } else {
+                LOGGER.error("Could not find parameter " + parameterName);
+            }
+            return "{" + pattern + "}";
+        }
+    }
+}
@@ -1,86 +1,82 @@
 package io.qameta.allure.util;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Spliterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
-
-import static org.joor.Reflect.on;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author charlie (Dmitry Baev).
  */
 public final class NamingUtils {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(NamingUtils.class);
+    private static final int MAX_CACHED_TEMPLATES = 4096;
 
-    private static final Collector<CharSequence, ?, String> JOINER = Collectors.joining(", ", "[", "]");
+    private static final Map<String, NameTemplate> TEMPLATES = new ConcurrentHashMap<>();
 
     private NamingUtils() {
         throw new IllegalStateException("Do not instance");
     }
 
     public static String processNameTemplate(final String template, final Map<String, Object> params) {
-        final Matcher matcher = Pattern.compile("\\{([^}]*)}").matcher(template);
-        final StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            final String pattern = matcher.group(1);
-            final String replacement = processPattern(pattern, params).orElseGet(matcher::group);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return getTemplate(template).format(params);
     }
 
-    @SuppressWarnings("ReturnCount")
-    private static Optional<String> processPattern(final String pattern, final Map<String, Object> params) {
-        if (pattern.isEmpty()) {
-            LOGGER.error("Could not process empty pattern");
-            return Optional.empty();
+    /**
+     * Returns the parsed template. Parsed templates are cached, so each template
+     * is parsed only once.
+     *
+     * @param template the template to parse.
+     */
+    public static NameTemplate getTemplate(final String template) {
+        final NameTemplate cached = TEMPLATES.get(template);
+        if (Objects.nonNull(cached)) {
+            return cached;
         }
-        final String[] parts = pattern.split("\\.");
-        final String parameterName = parts[0];
-        if (!params.containsKey(parameterName)) {
-            LOGGER.error("Could not find parameter " + parameterName);
-            return Optional.empty();
+        final NameTemplate compiled = NameTemplate.compile(template);
+        if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+            TEMPLATES.putIfAbsent(template, compiled);
         }
-        final Object param = params.get(parameterName);
-        return Optional.ofNullable(extractProperties(param, parts, 1));
+        return compiled;
+    }
+
+    @SuppressWarnings({"PMD.DefaultPackage", "PMD.CommentDefaultAccessModifier"})
+    static String extractProperties(final Object object, final String[] parts, final int index) {
+        final StringBuilder sb = new StringBuilder();
+        appendProperties(sb, object, parts, index);
+        return sb.toString();
     }
 
-    @SuppressWarnings("ReturnCount")
-    private static String extractProperties(final Object object, final String[] parts, final int index) {
+    private static void appendProperties(final StringBuilder sb, final Object object,
+                                         final String[] parts, final int index) {
         if (Objects.isNull(object)) {
-            return "null";
-        }
-        if (index < parts.length) {
+            sb.append("null");
+        } else if (index < parts.length) {
             if (object instanceof Object[]) {
-                return Stream.of((Object[]) object)
-                        .map(child -> extractProperties(child, parts, index))
-                        .collect(JOINER);
-            }
-            if (object instanceof Iterable) {
-                final Spliterator<?> iterator = ((Iterable) object).spliterator();
-                return StreamSupport.stream(iterator, false)
-                        .map(child -> extractProperties(child, parts, index))
-                        .collect(JOINER);
+                appendAll(sb, Arrays.asList((Object[]) object), parts, index);
+            } else if (object instanceof Iterable) {
+                appendAll(sb, (Iterable<?>) object, parts, index);
+            } else {
+                appendProperties(sb, PropertyAccessors.get(object, parts[index]), parts, index + 1);
             }
-            final Object child = on(object).get(parts[index]);
-            return extractProperties(child, parts, index + 1);
+        } else if (object instanceof Object[]) {
+            sb.append(Arrays.toString((Object[]) object));
+        } else {
+            sb.append(object);
         }
-        if (object instanceof Object[]) {
-            return Arrays.toString((Object[]) object);
+    }
+
+    private static void appendAll(final StringBuilder sb, final Iterable<?> children,
+                                  final String[] parts, final int index) {
+        sb.append('[');
+        boolean first = true;
+        for (Object child : children) {
+            if (!first) {
+                sb.append(", ");
+            }
+            appendProperties(sb, child, parts, index);
+            first = false;
         }
-        return String.valueOf(object);
+        sb.append(']');
     }
 }
@@ -0,0 +1,276 @@
+package io.qameta.allure.util;
+
+import java.lang.reflect.Array;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Converts parameter values to strings of limited size. Limits are disabled by
+ * default, so values are converted as a whole unless the limit properties are set.
+ * Arrays, collections,
+ * maps and char sequences are rendered element by element, and rendering stops
+ * as soon as the limit is reached, so large values are never converted to string
+ * as a whole. Other objects are converted using {@link Object#toString()} and
+ * then truncated. The result for values that fit the limits is the same as
+ * {@link java.util.Arrays#toString(Object[])} for object arrays and {@link Object#toString()}
+ * for other values. Primitive arrays are rendered element by element only if the limits
+ * are set, otherwise they are converted using {@link String#valueOf(Object)}.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings({"ReturnCount", "PMD.GodClass", "PMD.AccessorMethodGeneration"})
+public final class ParameterFormatter {
+
+    /**
+     * Maximum length of parameter value.
+     */
+    public static final String MAX_LENGTH_PROPERTY = "allure.parameters.maxLength";
+
+    /**
+     * Maximum number of rendered elements of arrays, collections and maps.
+     */
+    public static final String MAX_ELEMENTS_PROPERTY = "allure.parameters.maxElements";
+
+    /**
+     * Enables deferred rendering of step parameters, see {@link LazyParameter}.
+     */
+    public static final String LAZY_PROPERTY = "allure.parameters.lazy";
+
+    /**
+     * Maximum length of parameter value by default, which is not limited.
+     */
+    public static final int DEFAULT_MAX_LENGTH = Integer.MAX_VALUE;
+
+    /**
+     * Maximum number of rendered elements by default, which is not limited.
+     */
+    public static final int DEFAULT_MAX_ELEMENTS = Integer.MAX_VALUE;
+
+    private static final String ELLIPSIS = "...";
+
+    private static final String SEPARATOR = ", ";
+
+    private static final String ARRAY_START = "[";
+
+    private static final String ARRAY_END = "]";
+
+    private static final String MAP_START = "{";
+
+    private static final String MAP_END = "}";
+
+    private static final ClassValue<Boolean> DEFAULT_TO_STRING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                final Class<?> declaring = type.getMethod("toString").getDeclaringClass();
+                return AbstractCollection.class.equals(declaring) || AbstractMap.class.equals(declaring);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final int maxLength;
+
+    private final int maxElements;
+
+    private final boolean lazy;
+
+    public ParameterFormatter(final int maxLength, final int maxElements) {
+        this(maxLength, maxElements, false);
+    }
+
+    public ParameterFormatter(final int maxLength, final int maxElements, final boolean lazy) {
+        if (maxLength <= 0 || maxElements <= 0) {
+            throw new IllegalArgumentException("Parameter limits should be positive");
+        }
+        this.maxLength = maxLength;
+        this.maxElements = maxElements;
+        this.lazy = lazy;
+    }
+
+    /**
+     * Returns the formatter configured by the current allure properties,
+     * see {@link AllureConfiguration#reload()}.
+     */
+    public static ParameterFormatter getDefault() {
+        return AllureConfiguration.getInstance().getParameterFormatter();
+    }
+
+    /**
+     * Returns the formatter configured by given properties. Invalid limits are
+     * replaced with the defaults, see {@link AllureConfiguration}.
+     */
+    public static ParameterFormatter fromProperties(final Properties properties) {
+        return new AllureConfiguration(properties).getParameterFormatter();
+    }
+
+    /**
+     * Returns true if step parameters should be rendered when the result is written.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Converts the value to string of limited size.
+     *
+     * @param value the value to convert.
+     */
+    public String format(final Object value) {
+        final Output output = new Output(maxLength);
+        if (!appendValue(output, value)) {
+            output.truncated();
+        }
+        return output.toString();
+    }
+
+    private boolean appendValue(final Output output, final Object value) {
+        if (value instanceof Object[]) {
+            return appendArray(output, value, false);
+        }
+        if (Objects.nonNull(value) && value.getClass().isArray() && isLimited()) {
+            return appendArray(output, value, true);
+        }
+        return appendElement(output, value);
+    }
+
+    private boolean isLimited() {
+        return maxLength != DEFAULT_MAX_LENGTH || maxElements != DEFAULT_MAX_ELEMENTS;
+    }
+
+    /**
+     * Appends nested value. Nested arrays are rendered using {@link String#valueOf(Object)},
+     * the same way as {@link java.util.Arrays#toString(Object[])} does.
+     */
+    private boolean appendElement(final Output output, final Object value) {
+        if (value instanceof CharSequence) {
+            return output.append((CharSequence) value);
+        }
+        if (value instanceof Collection && DEFAULT_TO_STRING.get(value.getClass())) {
+            return appendCollection(output, (Collection<?>) value);
+        }
+        if (value instanceof Map && DEFAULT_TO_STRING.get(value.getClass())) {
+            return appendMap(output, (Map<?, ?>) value);
+        }
+        return output.append(String.valueOf(value));
+    }
+
+    private boolean appendArray(final Output output, final Object array, final boolean primitive) {
+        if (!output.append(ARRAY_START)) {
+            return false;
+        }
+        final int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && !output.append(SEPARATOR)) {
+                return false;
+            }
+            if (i == maxElements) {
+                return output.append(ELLIPSIS) && output.append(ARRAY_END);
+            }
+            final Object element = Array.get(array, i);
+            final boolean appended = primitive
+                    ? output.append(String.valueOf(element))
+                    : appendElement(output, element);
+            if (!appended) {
+                return false;
+            }
+        }
+        return output.append(ARRAY_END);
+    }
+
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private boolean appendCollection(final Output output, final Collection<?> collection) {
+        if (!output.append(ARRAY_START)) {
+            return false;
+        }
+        final Iterator<?> iterator = collection.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            if (i > 0 && !output.append(SEPARATOR)) {
+                return false;
+            }
+            if (i == maxElements) {
+                return output.append(ELLIPSIS) && output.append(ARRAY_END);
+            }
+            final Object element = iterator.next();
+            final boolean appended = element == collection
+                    ? output.append("(this Collection)")
+                    : appendElement(output, element);
+            if (!appended) {
+                return false;
+            }
+        }
+        return output.append(ARRAY_END);
+    }
+
+    private boolean appendMap(final Output output, final Map<?, ?> map) {
+        if (!output.append(MAP_START)) {
+            return false;
+        }
+        final Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            if (i > 0 && !output.append(SEPARATOR)) {
+                return false;
+            }
+            if (i == maxElements) {
+                return output.append(ELLIPSIS) && output.append(MAP_END);
+            }
+            final Map.Entry<?, ?> entry = iterator.next();
+            final boolean appended = appendMapElement(output, map, entry.getKey())
+                    && output.append("=")
+                    && appendMapElement(output, map, entry.getValue());
+            if (!appended) {
+                return false;
+            }
+        }
+        return output.append(MAP_END);
+    }
+
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private boolean appendMapElement(final Output output, final Map<?, ?> map, final Object element) {
+        return element == map ? output.append("(this Map)") : appendElement(output, element);
+    }
+
+    /**
+     * String builder with limited length.
+     */
+    @SuppressWarnings("PMD.AvoidStringBufferField")
+    private static final class Output {
+
+        private final StringBuilder sb = new StringBuilder();
+
+        private final int limit;
+
+        Output(final int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Appends the text. Returns false if the text does not fit the limit,
+         * in this case only the fitting part is appended.
+         */
+        public boolean append(final CharSequence text) {
+            final int remaining = limit - sb.length();
+            if (text.length() > remaining) {
+                sb.append(text, 0, remaining);
+                return false;
+            }
+            sb.append(text);
+            return true;
+        }
+
+        public void truncated() {
+            sb.append(ELLIPSIS);
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+}
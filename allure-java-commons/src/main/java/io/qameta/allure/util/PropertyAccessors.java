@@ -0,0 +1,73 @@
+package io.qameta.allure.util;
+
+import org.joor.ReflectException;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached accessible fields used to extract properties of template parameters.
+ * Fields are resolved the same way as jOOR does: public fields first, then
+ * declared fields of the class and its superclasses.
+ */
+final class PropertyAccessors {
+
+    private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Returns the value of the field with given name.
+     *
+     * @param object the object to get the field value from.
+     * @param name   the name of the field.
+     * @throws ReflectException if there is no such field.
+     */
+    public static Object get(final Object object, final String name) {
+        final Map<String, Field> fields = FIELDS.get(object.getClass());
+        Field field = fields.get(name);
+        if (Objects.isNull(field)) {
+            field = fields.computeIfAbsent(name, key -> accessibleField(object.getClass(), key));
+        }
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new ReflectException(e);
+        }
+    }
+
+    private static Field accessibleField(final Class<?> type, final String name) {
+        try {
+            final Field field = findField(type, name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | SecurityException e) {
+            throw new ReflectException(e);
+        }
+    }
+
+    private static Field findField(final Class<?> type, final String name) throws NoSuchFieldException {
+        try {
+            return type.getField(name);
+        } catch (NoSuchFieldException e) {
+            Class<?> current = type;
+            while (Objects.nonNull(current)) {
+                try {
+                    return current.getDeclaredField(name);
+                } catch (NoSuchFieldException ignore) {
+                    current = current.getSuperclass();
+                }
+            }
+            throw e;
+        }
+    }
+}
@@ -16,28 +16,21 @@ import io.qameta.allure.model.StatusDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static io.qameta.allure.util.PropertiesUtils.loadAllureProperties;
-import static java.lang.Boolean.parseBoolean;
 
 /**
  * The collection of Allure utils methods.
@@ -67,6 +60,11 @@ public final class ResultsUtils {
     private static final String ALLURE_DESCRIPTIONS_PACKAGE = "allureDescriptions/";
     private static final String MD_5 = "MD5";
 
+    private static final ThreadLocal<CachedName> THREAD_NAME = new ThreadLocal<>();
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private static volatile CachedName hostName;
+
     private static String cachedHost;
 
     private ResultsUtils() {
@@ -101,12 +99,45 @@ public final class ResultsUtils {
         return new Label().withName(SEVERITY_LABEL_NAME).withValue(severity);
     }
 
+    /**
+     * Returns the host label. The host name is resolved once per configuration.
+     */
+    @SuppressWarnings("PMD.AccessorMethodGeneration")
     public static Label createHostLabel() {
-        return new Label().withName(HOST_LABEL_NAME).withValue(getHostName());
+        final AllureConfiguration configuration = AllureConfiguration.getInstance();
+        CachedName cached = hostName;
+        if (Objects.isNull(cached) || cached.configuration != configuration) {
+            final String name = Stream.of(
+                    configuration.getProperty(ALLURE_HOST_NAME_SYSPROP), System.getenv(ALLURE_HOST_NAME_ENV))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElseGet(ResultsUtils::getRealHostName);
+            cached = new CachedName(configuration, null, name);
+            hostName = cached;
+        }
+        return new Label().withName(HOST_LABEL_NAME).withValue(cached.value);
     }
 
+    /**
+     * Returns the thread label of the current thread. The label value is resolved once
+     * per thread, and again if the thread is renamed.
+     */
+    @SuppressWarnings("PMD.AccessorMethodGeneration")
     public static Label createThreadLabel() {
-        return new Label().withName(THREAD_LABEL_NAME).withValue(getThreadName());
+        final AllureConfiguration configuration = AllureConfiguration.getInstance();
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+        CachedName cached = THREAD_NAME.get();
+        if (Objects.isNull(cached) || cached.configuration != configuration || !name.equals(cached.threadName)) {
+            final String threadName = Stream.of(
+                    configuration.getProperty(ALLURE_THREAD_NAME_SYSPROP), System.getenv(ALLURE_THREAD_NAME_ENV))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElseGet(() -> String.format("%s.%s(%s)", ProcessName.VALUE, name, thread.getId()));
+            cached = new CachedName(configuration, name, threadName);
+            THREAD_NAME.set(cached);
+        }
+        return new Label().withName(THREAD_LABEL_NAME).withValue(cached.value);
     }
 
     public static Label createLabel(final Owner owner) {
@@ -162,21 +193,11 @@ public final class ResultsUtils {
     }
 
     public static String getHostName() {
-        final String fromProperty = System.getProperty(ALLURE_HOST_NAME_SYSPROP);
-        final String fromEnv = System.getenv(ALLURE_HOST_NAME_ENV);
-        return Stream.of(fromProperty, fromEnv)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseGet(ResultsUtils::getRealHostName);
+        return createHostLabel().getValue();
     }
 
     public static String getThreadName() {
-        final String fromProperty = System.getProperty(ALLURE_THREAD_NAME_SYSPROP);
-        final String fromEnv = System.getenv(ALLURE_THREAD_NAME_ENV);
-        return Stream.of(fromProperty, fromEnv)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseGet(ResultsUtils::getRealThreadName);
+        return createThreadLabel().getValue();
     }
 
     public static Optional<Status> getStatus(final Throwable throwable) {
@@ -185,10 +206,15 @@ public final class ResultsUtils {
     }
 
     public static Optional<StatusDetails> getStatusDetails(final Throwable e) {
+        final StackTraceRenderer renderer = StackTraceRenderer.getDefault();
         return Optional.ofNullable(e)
-                .map(throwable -> new StatusDetails()
-                        .withMessage(Optional.ofNullable(throwable.getMessage()).orElse(throwable.getClass().getName()))
-                        .withTrace(getStackTraceAsString(throwable)));
+                .map(throwable -> {
+                    final StatusDetails details = renderer.isLazy()
+                            ? new LazyStatusDetails(throwable, renderer)
+                            : new StatusDetails().withTrace(renderer.render(throwable));
+                    return details.withMessage(
+                            Optional.ofNullable(throwable.getMessage()).orElse(throwable.getClass().getName()));
+                });
     }
 
     public static Optional<String> firstNonEmpty(final String... items) {
@@ -203,13 +229,9 @@ public final class ResultsUtils {
     }
 
     public static String generateMethodSignatureHash(final String methodName, final List<String> parameterTypes) {
-        final MessageDigest md = getMd5Digest();
-        md.update(methodName.getBytes(StandardCharsets.UTF_8));
-        parameterTypes.stream()
-                .map(string -> string.getBytes(StandardCharsets.UTF_8))
-                .forEach(md::update);
-
-        return DatatypeConverter.printHexBinary(md.digest()).toLowerCase();
+        final HistoryIds.Hasher hasher = HistoryIds.hasher().update(methodName);
+        parameterTypes.forEach(hasher::update);
+        return hasher.toHex();
     }
 
     public static MessageDigest getMd5Digest() {
@@ -221,12 +243,7 @@ public final class ResultsUtils {
     }
 
     private static String getLinkUrl(final String name, final String type) {
-        final Properties properties = loadAllureProperties();
-        final String pattern = properties.getProperty(getLinkTypePatternPropertyName(type));
-        if (Objects.isNull(pattern)) {
-            return null;
-        }
-        return pattern.replaceAll("\\{}", Objects.isNull(name) ? "" : name);
+        return AllureConfiguration.getInstance().getLinkUrl(type, name);
     }
 
     private static String getRealHostName() {
@@ -241,19 +258,6 @@ public final class ResultsUtils {
         return cachedHost;
     }
 
-    private static String getRealThreadName() {
-        return String.format("%s.%s(%s)",
-                ManagementFactory.getRuntimeMXBean().getName(),
-                Thread.currentThread().getName(),
-                Thread.currentThread().getId());
-    }
-
-    private static String getStackTraceAsString(final Throwable throwable) {
-        final StringWriter stringWriter = new StringWriter();
-        throwable.printStackTrace(new PrintWriter(stringWriter));
-        return stringWriter.toString();
-    }
-
     public static void processDescription(final ClassLoader classLoader, final Method method,
                                           final ExecutableItem item) {
         if (method.isAnnotationPresent(Description.class)) {
@@ -284,7 +288,33 @@ public final class ResultsUtils {
     }
 
     private static boolean separateLines() {
-        return parseBoolean(loadAllureProperties().getProperty(ALLURE_SEPARATE_LINES_SYSPROP));
+        return AllureConfiguration.getInstance().isSeparateLines();
+    }
+
+    /**
+     * Host or thread label value together with the values it was resolved for.
+     */
+    private static final class CachedName {
+
+        private final AllureConfiguration configuration;
+
+        private final String threadName;
+
+        private final String value;
+
+        CachedName(final AllureConfiguration configuration, final String threadName, final String value) {
+            this.configuration = configuration;
+            this.threadName = threadName;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Name of the running JVM, loaded on first use.
+     */
+    private static final class ProcessName {
+
+        private static final String VALUE = ManagementFactory.getRuntimeMXBean().getName();
     }
 
 }
@@ -0,0 +1,152 @@
+package io.qameta.allure.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Converts throwables to stack trace strings. Without filters the result is the same
+ * as {@link Throwable#printStackTrace()}. Frames of classes starting with one of the
+ * filtered prefixes, such as {@code sun.reflect.}, {@code org.aspectj.} or
+ * {@code org.testng.internal.}, are omitted, and each run of omitted frames is
+ * replaced with the single line with the number of the omitted frames.
+ *
+ * @since 2.7
+ */
+public final class StackTraceRenderer {
+
+    /**
+     * Comma separated class name prefixes of the frames omitted from stack traces.
+     */
+    public static final String FILTER_PROPERTY = "allure.trace.filter";
+
+    /**
+     * Enables deferred rendering of stack traces, see {@link LazyStatusDetails}.
+     */
+    public static final String LAZY_PROPERTY = "allure.trace.lazy";
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static final String ELLIPSIS = "\t... ";
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<String> filters;
+
+    private final boolean lazy;
+
+    public StackTraceRenderer(final List<String> filters) {
+        this(filters, true);
+    }
+
+    public StackTraceRenderer(final List<String> filters, final boolean lazy) {
+        Objects.requireNonNull(filters, "Filters can't be null");
+        this.filters = Collections.unmodifiableList(filters.stream()
+                .map(String::trim)
+                .filter(filter -> !filter.isEmpty())
+                .collect(Collectors.toList()));
+        this.lazy = lazy;
+    }
+
+    /**
+     * Returns the renderer configured by the current allure properties,
+     * see {@link AllureConfiguration#reload()}.
+     */
+    public static StackTraceRenderer getDefault() {
+        return AllureConfiguration.getInstance().getStackTraceRenderer();
+    }
+
+    public static StackTraceRenderer fromProperties(final Properties properties) {
+        return new StackTraceRenderer(
+                Arrays.asList(properties.getProperty(FILTER_PROPERTY, "").split(",")),
+                Boolean.parseBoolean(properties.getProperty(LAZY_PROPERTY, "true"))
+        );
+    }
+
+    /**
+     * Returns true if stack traces should be rendered when the result is written.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Converts the throwable to stack trace string.
+     *
+     * @param throwable the throwable to convert.
+     */
+    public String render(final Throwable throwable) {
+        if (filters.isEmpty()) {
+            final StringWriter stringWriter = new StringWriter(INITIAL_CAPACITY);
+            throwable.printStackTrace(new PrintWriter(stringWriter));
+            return stringWriter.toString();
+        }
+        final StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+        final Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        appendThrowable(builder, throwable, new StackTraceElement[0], "", "", visited);
+        return builder.toString();
+    }
+
+    private void appendThrowable(final StringBuilder builder, final Throwable throwable,
+                                 final StackTraceElement[] enclosingTrace, final String caption,
+                                 final String prefix, final Set<Throwable> visited) {
+        if (!visited.add(throwable)) {
+            builder.append(prefix).append(caption).append("[CIRCULAR REFERENCE:").append(throwable).append(']')
+                    .append(LINE_SEPARATOR);
+            return;
+        }
+        final StackTraceElement[] trace = throwable.getStackTrace();
+        int last = trace.length - 1;
+        int enclosing = enclosingTrace.length - 1;
+        while (last >= 0 && enclosing >= 0 && trace[last].equals(enclosingTrace[enclosing])) {
+            last--;
+            enclosing--;
+        }
+        builder.append(prefix).append(caption).append(throwable).append(LINE_SEPARATOR);
+        int omitted = 0;
+        for (int i = 0; i <= last; i++) {
+            if (isFiltered(trace[i])) {
+                omitted++;
+                continue;
+            }
+            appendOmitted(builder, prefix, omitted);
+            omitted = 0;
+            builder.append(prefix).append("\tat ").append(trace[i]).append(LINE_SEPARATOR);
+        }
+        appendOmitted(builder, prefix, omitted);
+        final int common = trace.length - 1 - last;
+        if (common != 0) {
+            builder.append(prefix).append(ELLIPSIS).append(common).append(" more").append(LINE_SEPARATOR);
+        }
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            appendThrowable(builder, suppressed, trace, "Suppressed: ", prefix + "\t", visited);
+        }
+        final Throwable cause = throwable.getCause();
+        if (Objects.nonNull(cause)) {
+            appendThrowable(builder, cause, trace, "Caused by: ", prefix, visited);
+        }
+    }
+
+    private static void appendOmitted(final StringBuilder builder, final String prefix, final int omitted) {
+        if (omitted != 0) {
+            builder.append(prefix).append(ELLIPSIS).append(omitted).append(" filtered").append(LINE_SEPARATOR);
+        }
+    }
+
+    private boolean isFiltered(final StackTraceElement element) {
+        final String className = element.getClassName();
+        for (String filter : filters) {
+            if (className.startsWith(filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
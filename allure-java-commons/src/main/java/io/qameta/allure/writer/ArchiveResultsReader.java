@@ -0,0 +1,203 @@
+package io.qameta.allure.writer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.AllureConstants.TEST_RESULT_CONTAINER_FILE_SUFFIX;
+import static io.qameta.allure.AllureConstants.TEST_RESULT_FILE_SUFFIX;
+import static io.qameta.allure.writer.ArchiveResultsWriter.ATTACHMENT_RECORD;
+import static io.qameta.allure.writer.ArchiveResultsWriter.CONTAINER_RECORD;
+import static io.qameta.allure.writer.ArchiveResultsWriter.MAGIC;
+import static io.qameta.allure.writer.ArchiveResultsWriter.SEGMENT_PREFIX;
+import static io.qameta.allure.writer.ArchiveResultsWriter.SEGMENT_SUFFIX;
+import static io.qameta.allure.writer.ArchiveResultsWriter.TEST_RESULT_RECORD;
+import static io.qameta.allure.writer.ArchiveResultsWriter.VERSION;
+
+/**
+ * Expands the archive created by {@link ArchiveResultsWriter} into the standard
+ * results directory. Results are stored in the archive as JSON, so the records are
+ * copied to the result files as is and no objects are deserialized. The archive
+ * can be expanded from the command line:
+ * <pre>
+ * java -cp ... io.qameta.allure.writer.ArchiveResultsReader archive-directory allure-results
+ * </pre>
+ * Records are streamed to the files without buffering. Reading of the segment
+ * stops at the incomplete record, which is left by the writer that was terminated
+ * abnormally; the incomplete result is skipped.
+ *
+ * @since 2.7
+ */
+public final class ArchiveResultsReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveResultsReader.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ArchiveResultsReader() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ArchiveResultsReader <archive directory> <results directory>");
+        }
+        extract(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * Reads all the segments from given directory in order and writes their records
+     * to the results directory. Existing files with the same names are replaced.
+     *
+     * @param archiveDirectory the directory that contains archive segments.
+     * @param resultsDirectory the directory to write the results to.
+     */
+    public static void extract(final Path archiveDirectory, final Path resultsDirectory) throws IOException {
+        Files.createDirectories(resultsDirectory);
+        for (Path segment : getSegments(archiveDirectory)) {
+            extractSegment(segment, resultsDirectory);
+        }
+    }
+
+    private static List<Path> getSegments(final Path archiveDirectory) throws IOException {
+        if (!Files.isDirectory(archiveDirectory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(archiveDirectory)) {
+            final List<Path> segments = files
+                    .filter(file -> {
+                        final String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .collect(Collectors.toCollection(ArrayList::new));
+            Collections.sort(segments);
+            return segments;
+        }
+    }
+
+    private static void extractSegment(final Path segment, final Path resultsDirectory) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(segment), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                LOGGER.error("Could not read {}: not an Allure results archive", segment);
+                return;
+            }
+            final int version = in.readByte();
+            if (version == VERSION) {
+                readRecords(in, resultsDirectory);
+            } else {
+                LOGGER.error("Could not read {}: unsupported archive version {}", segment, version);
+            }
+        } catch (EOFException e) {
+            LOGGER.warn("Archive segment {} ends with incomplete record", segment, e);
+        }
+    }
+
+    private static void readRecords(final DataInputStream stream, final Path resultsDirectory) throws IOException {
+        int type = stream.read();
+        while (type >= 0) {
+            readRecord(stream, (byte) type, resultsDirectory);
+            type = stream.read();
+        }
+    }
+
+    private static void readRecord(final DataInputStream stream, final byte type,
+                                   final Path resultsDirectory) throws IOException {
+        final String name = stream.readUTF();
+        final ChunkedInputStream content = new ChunkedInputStream(stream);
+        switch (type) {
+            case TEST_RESULT_RECORD:
+                copy(content, resultsDirectory, name + TEST_RESULT_FILE_SUFFIX);
+                break;
+            case CONTAINER_RECORD:
+                copy(content, resultsDirectory, name + TEST_RESULT_CONTAINER_FILE_SUFFIX);
+                break;
+            case ATTACHMENT_RECORD:
+                copy(content, resultsDirectory, name);
+                break;
+            default:
+                throw new IOException("Unknown record type " + type);
+        }
+        content.skipRemaining();
+    }
+
+    private static void copy(final InputStream content, final Path resultsDirectory,
+                             final String fileName) throws IOException {
+        final Path directory = resultsDirectory.toAbsolutePath().normalize();
+        final Path file = directory.resolve(fileName).normalize();
+        if (!directory.equals(file.getParent())) {
+            throw new IOException("Invalid record name " + fileName);
+        }
+        Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Content of the single record.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+
+        private final DataInputStream in;
+
+        private int remaining;
+
+        private boolean finished;
+
+        ChunkedInputStream(final DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextChunk()) {
+                return -1;
+            }
+            remaining--;
+            return in.readUnsignedByte();
+        }
+
+        @Override
+        @SuppressWarnings("ReturnCount")
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextChunk()) {
+                return -1;
+            }
+            final int count = Math.min(len, remaining);
+            in.readFully(b, off, count);
+            remaining -= count;
+            return count;
+        }
+
+        public void skipRemaining() throws IOException {
+            while (nextChunk()) {
+                in.skipBytes(remaining);
+                remaining = 0;
+            }
+        }
+
+        private boolean nextChunk() throws IOException {
+            if (remaining == 0 && !finished) {
+                remaining = in.readInt();
+                finished = remaining == 0;
+            }
+            return !finished;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Results writer that appends all the results and attachments to the segmented
+ * archive instead of creating a file per result. Segments are named
+ * {@code allure-results-00000.archive}, {@code allure-results-00001.archive} and so on;
+ * the next segment is started once the current one exceeds the segment size.
+ * Use {@link ArchiveResultsReader} to expand the archive into the standard results
+ * directory layout.
+ * <p>
+ * Each segment starts with the {@link #MAGIC} number and the format version,
+ * followed by records. A record is the record type byte, the modified UTF-8 name
+ * (the uuid of the result or the source of the attachment) and the content as
+ * a sequence of chunks, each prefixed with its length; a chunk of zero length ends
+ * the record. Results are stored as JSON written by {@link ResultsJsonSerializer}, the
+ * same as the result files in the results directory. If a record could not be written,
+ * the segment is closed, so the incomplete record is always the last one.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
+public class ArchiveResultsWriter implements AllureResultsWriter, AutoCloseable {
+
+    public static final int MAGIC = 0x414c5241;
+
+    public static final int VERSION = 2;
+
+    public static final String SEGMENT_PREFIX = "allure-results-";
+
+    public static final String SEGMENT_SUFFIX = ".archive";
+
+    public static final long DEFAULT_SEGMENT_SIZE = 256L * 1024 * 1024;
+
+    @SuppressWarnings({"PMD.DefaultPackage", "PMD.CommentDefaultAccessModifier"})
+    static final byte TEST_RESULT_RECORD = 1;
+
+    @SuppressWarnings({"PMD.DefaultPackage", "PMD.CommentDefaultAccessModifier"})
+    static final byte CONTAINER_RECORD = 2;
+
+    @SuppressWarnings({"PMD.DefaultPackage", "PMD.CommentDefaultAccessModifier"})
+    static final byte ATTACHMENT_RECORD = 3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveResultsWriter.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path outputDirectory;
+
+    private final long segmentSize;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final ResultsJsonSerializer serializer = new ResultsJsonSerializer();
+
+    private int segment;
+
+    private DataOutputStream output;
+
+    public ArchiveResultsWriter(final Path outputDirectory) {
+        this(outputDirectory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public ArchiveResultsWriter(final Path outputDirectory, final long segmentSize) {
+        Objects.requireNonNull(outputDirectory, "Output directory can't be null");
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size should be positive");
+        }
+        this.outputDirectory = outputDirectory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Returns the name of the segment file with given index.
+     *
+     * @param index the index of the segment.
+     */
+    public static String getSegmentName(final int index) {
+        return String.format("%s%05d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    @Override
+    public synchronized void write(final TestResult testResult) {
+        final String uuid = testResult.getUuid();
+        try {
+            final DataOutputStream record = startRecord(TEST_RESULT_RECORD, uuid);
+            serializer.write(testResult, new ChunkedOutputStream(record));
+            endRecord(record);
+        } catch (IOException e) {
+            closeSegment();
+            throw new AllureResultsWriteException("Could not write Allure test result " + uuid, e);
+        }
+    }
+
+    @Override
+    public synchronized void write(final TestResultContainer testResultContainer) {
+        final String uuid = testResultContainer.getUuid();
+        try {
+            final DataOutputStream record = startRecord(CONTAINER_RECORD, uuid);
+            serializer.write(testResultContainer, new ChunkedOutputStream(record));
+            endRecord(record);
+        } catch (IOException e) {
+            closeSegment();
+            throw new AllureResultsWriteException("Could not write Allure test result container " + uuid, e);
+        }
+    }
+
+    @Override
+    public synchronized void write(final String source, final InputStream attachment) {
+        try {
+            final DataOutputStream record = startRecord(ATTACHMENT_RECORD, source);
+            int read = attachment.read(buffer);
+            while (read >= 0) {
+                if (read > 0) {
+                    record.writeInt(read);
+                    record.write(buffer, 0, read);
+                }
+                read = attachment.read(buffer);
+            }
+            endRecord(record);
+        } catch (IOException e) {
+            closeSegment();
+            throw new AllureResultsWriteException("Could not write Allure attachment " + source, e);
+        }
+    }
+
+    /**
+     * Writes the buffered records to the current segment.
+     */
+    public synchronized void flush() {
+        if (Objects.nonNull(output)) {
+            try {
+                output.flush();
+            } catch (IOException e) {
+                throw new AllureResultsWriteException("Could not flush Allure results archive", e);
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the current segment. Records written after close are
+     * appended to the new segment. The lifecycle closes the writer on shutdown.
+     */
+    @Override
+    public synchronized void close() {
+        closeSegment();
+    }
+
+    private DataOutputStream startRecord(final byte type, final String name) throws IOException {
+        if (Objects.isNull(output)) {
+            openSegment();
+        }
+        output.writeByte(type);
+        output.writeUTF(name);
+        return output;
+    }
+
+    private void endRecord(final DataOutputStream record) throws IOException {
+        record.writeInt(0);
+        if (record.size() >= segmentSize) {
+            closeSegment();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(getSegmentName(segment));
+        while (Files.exists(file)) {
+            segment++;
+            file = outputDirectory.resolve(getSegmentName(segment));
+        }
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+    }
+
+    private void closeSegment() {
+        if (Objects.isNull(output)) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            LOGGER.error("Could not close Allure results archive segment {}", getSegmentName(segment), e);
+        } finally {
+            output = null;
+            segment++;
+        }
+    }
+
+    /**
+     * Writes each written array as the chunk of the record content.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+
+        private final DataOutputStream out;
+
+        ChunkedOutputStream(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.writeInt(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (len > 0) {
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Results writer decorator that moves test result and container serialization
+ * off the test thread. Results are put into a bounded queue that is drained
+ * in batches by a single daemon writer thread. Attachments are passed to the
+ * delegate synchronously, since the given stream may be closed by the caller
+ * as soon as the write call returns. If the writer thread is stopped unexpectedly,
+ * results are written on the calling thread.
+ * <p>
+ * Results that are still queued are written on {@link #close()}, which also closes
+ * the delegate. Results submitted after close are dropped. The lifecycle closes
+ * the writer on shutdown.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings("PMD.GodClass")
+public class AsyncResultsWriter
+        implements AllureResultsWriter, FileAttachmentsWriter, AttachmentStreamsWriter, AutoCloseable {
+
+    /**
+     * The strategy to apply when the queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Block the test thread until the writer thread frees some space.
+         */
+        BLOCK,
+
+        /**
+         * Drop the result and log an error.
+         */
+        DROP,
+
+        /**
+         * Write the result synchronously on the test thread.
+         */
+        CALLER_RUNS
+    }
+
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncResultsWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private static final long WORKER_CHECK_INTERVAL_MILLIS = 100;
+
+    private static final Task STOP = writer -> {
+        //stop marker, should be empty
+    };
+
+    private final AllureResultsWriter delegate;
+
+    private final BlockingQueue<Task> queue;
+
+    private final int batchSize;
+
+    private final OverflowPolicy policy;
+
+    private final Thread worker;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    public AsyncResultsWriter(final AllureResultsWriter delegate) {
+        this(delegate, DEFAULT_QUEUE_SIZE, DEFAULT_BATCH_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    public AsyncResultsWriter(final AllureResultsWriter delegate, final int queueSize,
+                              final int batchSize, final OverflowPolicy policy) {
+        Objects.requireNonNull(delegate, "Delegate writer can't be null");
+        Objects.requireNonNull(policy, "Overflow policy can't be null");
+        if (queueSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Queue size and batch size should be positive");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.policy = policy;
+        this.worker = new Thread(this::drain, "allure-results-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void write(final TestResult testResult) {
+        submit(writer -> writer.write(testResult));
+    }
+
+    @Override
+    public void write(final TestResultContainer testResultContainer) {
+        submit(writer -> writer.write(testResultContainer));
+    }
+
+    /**
+     * Queues the test result. The callback is run after the result is written,
+     * usually on the writer thread, and is not run if the write fails.
+     *
+     * @param testResult the result to write.
+     * @param callback   the action to run after the result is written.
+     */
+    public void write(final TestResult testResult, final Runnable callback) {
+        submit(writer -> {
+            writer.write(testResult);
+            callback.run();
+        });
+    }
+
+    /**
+     * Queues the container. The callback is run after the container is written,
+     * usually on the writer thread, and is not run if the write fails.
+     *
+     * @param testResultContainer the container to write.
+     * @param callback            the action to run after the container is written.
+     */
+    public void write(final TestResultContainer testResultContainer, final Runnable callback) {
+        submit(writer -> {
+            writer.write(testResultContainer);
+            callback.run();
+        });
+    }
+
+    @Override
+    public void write(final String source, final InputStream attachment) {
+        delegate.write(source, attachment);
+    }
+
+    @Override
+    public void write(final String source, final Path file) {
+        FileAttachmentsWriter.writeFile(delegate, source, file);
+    }
+
+    @Override
+    public void move(final String source, final Path file) {
+        FileAttachmentsWriter.moveFile(delegate, source, file);
+    }
+
+    @Override
+    public OutputStream openAttachment(final String source) {
+        return AttachmentStreamsWriter.openAttachment(delegate, source);
+    }
+
+    /**
+     * Blocks until all the results queued before this call are written. If the writer
+     * thread is stopped unexpectedly, the queued results are written on the calling thread.
+     */
+    @SuppressWarnings("ReturnCount")
+    public void flush() {
+        if (closed.get()) {
+            return;
+        }
+        final Flush flush = new Flush();
+        try {
+            while (!queue.offer(flush, WORKER_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writeIfWorkerStopped()) {
+                    return;
+                }
+            }
+            while (!flush.await(WORKER_CHECK_INTERVAL_MILLIS)) {
+                if (writeIfWorkerStopped()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of results dropped because of the queue overflow
+     * or because they were submitted after close.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes all the queued results, stops the writer thread and closes the delegate
+     * if it is {@link AutoCloseable}. Results submitted after close are dropped.
+     */
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            if (queue.offer(STOP, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                worker.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeBatch(drainRemaining());
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                LOGGER.error("Could not close Allure results writer", e);
+            }
+        }
+    }
+
+    /**
+     * Queues the task. The close lock makes sure that every task queued before
+     * the writer is closed is queued before the stop marker, so it is written.
+     */
+    private void submit(final Task task) {
+        closeLock.readLock().lock();
+        try {
+            if (closed.get()) {
+                LOGGER.error("Could not write Allure result: results writer is closed, result dropped");
+                dropped.incrementAndGet();
+            } else if (worker.isAlive()) {
+                enqueue(task);
+            } else {
+                task.writeTo(delegate);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void enqueue(final Task task) {
+        switch (policy) {
+            case DROP:
+                if (!queue.offer(task)) {
+                    LOGGER.error("Could not write Allure result: results queue is full, result dropped");
+                    dropped.incrementAndGet();
+                }
+                break;
+            case CALLER_RUNS:
+                if (!queue.offer(task)) {
+                    task.writeTo(delegate);
+                }
+                break;
+            default:
+                try {
+                    queue.put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    task.writeTo(delegate);
+                }
+                break;
+        }
+    }
+
+    private void drain() {
+        final List<Task> batch = new ArrayList<>(batchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            running = writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes the queued results on the calling thread if the writer thread is stopped.
+     * Returns false if the writer thread is still running.
+     */
+    private boolean writeIfWorkerStopped() {
+        if (worker.isAlive()) {
+            return false;
+        }
+        LOGGER.warn("Allure results writer thread is stopped, writing queued results in {}",
+                Thread.currentThread().getName());
+        writeBatch(drainRemaining());
+        return true;
+    }
+
+    private List<Task> drainRemaining() {
+        final List<Task> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        return remaining;
+    }
+
+    /**
+     * Writes the given batch. Returns false if the batch contains the stop marker.
+     */
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.CompareObjectsWithEquals"})
+    private boolean writeBatch(final List<Task> batch) {
+        boolean running = true;
+        for (Task task : batch) {
+            if (task == STOP) {
+                running = false;
+                continue;
+            }
+            try {
+                task.writeTo(delegate);
+            } catch (Exception e) {
+                LOGGER.error("Could not write Allure result", e);
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Single queued write operation.
+     */
+    @FunctionalInterface
+    private interface Task {
+
+        void writeTo(AllureResultsWriter writer);
+
+    }
+
+    /**
+     * Marker task that releases the thread waiting in {@link #flush()}.
+     */
+    private static final class Flush implements Task {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public void writeTo(final AllureResultsWriter writer) {
+            latch.countDown();
+        }
+
+        public boolean await(final long millis) throws InterruptedException {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Results writer capability to write attachments as streams. The attachment
+ * content should become visible only when the stream is closed.
+ *
+ * @since 2.7
+ */
+@FunctionalInterface
+public interface AttachmentStreamsWriter {
+
+    /**
+     * Opens the stream to write the attachment with given source.
+     *
+     * @param source the source of the attachment.
+     */
+    OutputStream openAttachment(String source);
+
+    /**
+     * Opens the stream to write the attachment using the given writer. If the writer
+     * does not support attachment streams, the content is written to the temporary
+     * file, which is passed to the writer when the stream is closed.
+     *
+     * @param writer the writer to write the attachment with.
+     * @param source the source of the attachment.
+     */
+    static OutputStream openAttachment(final AllureResultsWriter writer, final String source) {
+        if (writer instanceof AttachmentStreamsWriter) {
+            return ((AttachmentStreamsWriter) writer).openAttachment(source);
+        }
+        try {
+            final Path file = Files.createTempFile(
+                    Paths.get(System.getProperty("java.io.tmpdir")), "allure-attachment-", ".tmp");
+            return new TempFileOutputStream(file, spooled -> FileAttachmentsWriter.writeFile(writer, source, spooled));
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not open attachment " + source, e);
+        }
+    }
+}
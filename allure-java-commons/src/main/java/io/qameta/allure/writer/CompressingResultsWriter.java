@@ -0,0 +1,210 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.model.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static io.qameta.allure.AllureConstants.TEST_RESULT_FILE_SUFFIX;
+
+/**
+ * Results writer that compresses test result files and text attachments larger
+ * than the threshold. Files are written as usual and then compressed by the
+ * background thread using the fastest gzip level. The compressed content of the
+ * file {@code name} is stored in the file {@code name.gz} and the original file
+ * is removed, so the sources in the results stay the same and readers should
+ * look for {@code source + ".gz"} if the source file is missing.
+ * <p>
+ * Files that are still queued are compressed on {@link #close()}. The lifecycle
+ * closes the writer on shutdown.
+ *
+ * @since 2.7
+ */
+public class CompressingResultsWriter extends LinkingResultsWriter implements AutoCloseable {
+
+    /**
+     * Suffix of compressed files.
+     */
+    public static final String COMPRESSED_FILE_SUFFIX = ".gz";
+
+    public static final long DEFAULT_THRESHOLD = 64 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompressingResultsWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> TEXT_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ".txt", ".log", ".html", ".htm", ".xml", ".json", ".csv", ".tsv", ".css", ".js", ".yaml", ".yml", ".md"
+    )));
+
+    private final Path outputDirectory;
+
+    private final long threshold;
+
+    private final ExecutorService compressor;
+
+    public CompressingResultsWriter(final Path outputDirectory) {
+        this(outputDirectory, false, DEFAULT_THRESHOLD);
+    }
+
+    public CompressingResultsWriter(final Path outputDirectory, final boolean hardLinks, final long threshold) {
+        this(outputDirectory, hardLinks, false, threshold);
+    }
+
+    public CompressingResultsWriter(final Path outputDirectory, final boolean hardLinks,
+                                    final boolean streamingJson, final long threshold) {
+        super(outputDirectory, hardLinks, streamingJson);
+        this.outputDirectory = outputDirectory;
+        this.threshold = threshold;
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "allure-results-compressor");
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.compressor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    @Override
+    public void write(final TestResult testResult) {
+        super.write(testResult);
+        schedule(testResult.getUuid() + TEST_RESULT_FILE_SUFFIX);
+    }
+
+    @Override
+    public void write(final String source, final InputStream attachment) {
+        super.write(source, attachment);
+        if (isText(source)) {
+            schedule(source);
+        }
+    }
+
+    @Override
+    public void write(final String source, final Path file) {
+        super.write(source, file);
+        if (isText(source)) {
+            schedule(source);
+        }
+    }
+
+    @Override
+    public void move(final String source, final Path file) {
+        super.move(source, file);
+        if (isText(source)) {
+            schedule(source);
+        }
+    }
+
+    @Override
+    public OutputStream openAttachment(final String source) {
+        final OutputStream stream = super.openAttachment(source);
+        if (!isText(source)) {
+            return stream;
+        }
+        return new FilterOutputStream(stream) {
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                schedule(source);
+            }
+        };
+    }
+
+    /**
+     * Compresses all the queued files and stops the compressor thread.
+     */
+    @Override
+    public void close() {
+        compressor.shutdown();
+        try {
+            if (!compressor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Could not compress Allure results in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isText(final String source) {
+        final int dot = source.lastIndexOf('.');
+        return dot >= 0 && TEXT_EXTENSIONS.contains(source.substring(dot).toLowerCase(Locale.ENGLISH));
+    }
+
+    private void schedule(final String fileName) {
+        final Path file = outputDirectory.resolve(fileName);
+        try {
+            compressor.execute(() -> compress(file));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Compressor is stopped, file {} is not compressed", file, e);
+        }
+    }
+
+    private void compress(final Path file) {
+        final Path target = file.resolveSibling(file.getFileName() + COMPRESSED_FILE_SUFFIX);
+        try {
+            if (!Files.isRegularFile(file) || Files.size(file) < threshold) {
+                return;
+            }
+            final Path temp = Files.createTempFile(outputDirectory, "allure-", ".tmp");
+            try {
+                try (OutputStream output = new FastGzipOutputStream(Files.newOutputStream(temp))) {
+                    Files.copy(file, output);
+                }
+                replace(temp, target);
+                Files.delete(file);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not compress Allure results file {}", file, e);
+        }
+    }
+
+    private static void replace(final Path file, final Path target) throws IOException {
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Gzip stream with the fastest compression level.
+     */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+
+        @SuppressWarnings("PMD.AccessorMethodGeneration")
+        FastGzipOutputStream(final OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Results writer capability to write attachments from existing files. Implementations
+ * should link or copy the file without reading its content into the heap.
+ *
+ * @since 2.7
+ */
+@FunctionalInterface
+public interface FileAttachmentsWriter {
+
+    /**
+     * Writes the content of given file as the attachment with given source.
+     *
+     * @param source the source of the attachment.
+     * @param file   the file to write.
+     */
+    void write(String source, Path file);
+
+    /**
+     * Writes the content of given temporary file as the attachment with given source.
+     * Implementations may move the file instead of copying it, the caller should delete
+     * the file if it still exists.
+     *
+     * @param source the source of the attachment.
+     * @param file   the temporary file to write.
+     */
+    default void move(final String source, final Path file) {
+        write(source, file);
+    }
+
+    /**
+     * Writes the file using the given writer. If the writer does not support
+     * file attachments, the file is passed to the writer as a stream.
+     *
+     * @param writer the writer to write the attachment with.
+     * @param source the source of the attachment.
+     * @param file   the file to write.
+     */
+    static void writeFile(final AllureResultsWriter writer, final String source, final Path file) {
+        if (writer instanceof FileAttachmentsWriter) {
+            ((FileAttachmentsWriter) writer).write(source, file);
+            return;
+        }
+        try (InputStream stream = Files.newInputStream(file)) {
+            writer.write(source, stream);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not read attachment file " + file, e);
+        }
+    }
+
+    /**
+     * Moves the temporary file using the given writer. If the writer does not support
+     * file attachments, the file is passed to the writer as a stream.
+     *
+     * @param writer the writer to write the attachment with.
+     * @param source the source of the attachment.
+     * @param file   the temporary file to write.
+     */
+    static void moveFile(final AllureResultsWriter writer, final String source, final Path file) {
+        if (writer instanceof FileAttachmentsWriter) {
+            ((FileAttachmentsWriter) writer).move(source, file);
+            return;
+        }
+        writeFile(writer, source, file);
+    }
+}
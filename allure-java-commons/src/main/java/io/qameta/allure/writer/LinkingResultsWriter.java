@@ -0,0 +1,231 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import static io.qameta.allure.AllureConstants.TEST_RESULT_CONTAINER_FILE_SUFFIX;
+import static io.qameta.allure.AllureConstants.TEST_RESULT_FILE_SUFFIX;
+import static io.qameta.allure.id.IdGenerators.generateId;
+
+/**
+ * File system results writer that writes file attachments without reading them
+ * into the heap. The file is hard linked into the results directory, if enabled,
+ * or copied using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ * Hard links share the content with the original file, so they should only be
+ * enabled if attached files are not modified after they are attached.
+ * <p>
+ * Attachments are written directly to the attachment files. If the attachment with
+ * the same source already exists, such as the content addressed attachment written by
+ * another JVM that shares the results directory, the attachment is written to the
+ * temporary file in the results directory, which is then renamed to replace it.
+ * <p>
+ * If streaming JSON is enabled, test results and containers are serialized by
+ * {@link ResultsJsonSerializer} instead of Jackson.
+ *
+ * @since 2.7
+ */
+public class LinkingResultsWriter extends FileSystemResultsWriter
+        implements FileAttachmentsWriter, AttachmentStreamsWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LinkingResultsWriter.class);
+
+    private static final String TEMP_FILE_PREFIX = "allure-";
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final String ATTACHMENT_WRITE_ERROR = "Could not write Allure attachment ";
+
+    private static final ThreadLocal<ResultsJsonSerializer> SERIALIZER =
+            ThreadLocal.withInitial(ResultsJsonSerializer::new);
+
+    private final Path outputDirectory;
+
+    private final boolean hardLinks;
+
+    private final boolean streamingJson;
+
+    public LinkingResultsWriter(final Path outputDirectory) {
+        this(outputDirectory, false);
+    }
+
+    public LinkingResultsWriter(final Path outputDirectory, final boolean hardLinks) {
+        this(outputDirectory, hardLinks, false);
+    }
+
+    public LinkingResultsWriter(final Path outputDirectory, final boolean hardLinks, final boolean streamingJson) {
+        super(outputDirectory);
+        this.outputDirectory = Objects.requireNonNull(outputDirectory, "Output directory can't be null");
+        this.hardLinks = hardLinks;
+        this.streamingJson = streamingJson;
+    }
+
+    /**
+     * Returns true if results are serialized by {@link ResultsJsonSerializer}.
+     */
+    public boolean isStreamingJson() {
+        return streamingJson;
+    }
+
+    @Override
+    public void write(final TestResult testResult) {
+        if (!streamingJson) {
+            super.write(testResult);
+            return;
+        }
+        final String fileName = testResult.getUuid() + TEST_RESULT_FILE_SUFFIX;
+        try (FileChannel channel = openJson(fileName)) {
+            SERIALIZER.get().write(testResult, channel);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure test result " + fileName, e);
+        }
+    }
+
+    @Override
+    public void write(final TestResultContainer testResultContainer) {
+        if (!streamingJson) {
+            super.write(testResultContainer);
+            return;
+        }
+        final String fileName = testResultContainer.getUuid() + TEST_RESULT_CONTAINER_FILE_SUFFIX;
+        try (FileChannel channel = openJson(fileName)) {
+            SERIALIZER.get().write(testResultContainer, channel);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure test result container " + fileName, e);
+        }
+    }
+
+    @Override
+    public void write(final String source, final InputStream attachment) {
+        final Path target = outputDirectory.resolve(source);
+        try {
+            Files.createDirectories(outputDirectory);
+            try {
+                Files.copy(attachment, target);
+            } catch (FileAlreadyExistsException e) {
+                final Path temp = createTempPath();
+                try {
+                    Files.copy(attachment, temp);
+                    replace(temp, target);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            throw new AllureResultsWriteException(ATTACHMENT_WRITE_ERROR + source, e);
+        }
+    }
+
+    @Override
+    public void write(final String source, final Path file) {
+        final Path target = outputDirectory.resolve(source);
+        try {
+            Files.createDirectories(outputDirectory);
+            try {
+                copy(target, file);
+            } catch (FileAlreadyExistsException e) {
+                final Path temp = createTempPath();
+                try {
+                    copy(temp, file);
+                    replace(temp, target);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            throw new AllureResultsWriteException(ATTACHMENT_WRITE_ERROR + source, e);
+        }
+    }
+
+    /**
+     * Renames the temporary file to the attachment file. The file is copied if it is
+     * stored in another file system.
+     */
+    @Override
+    public void move(final String source, final Path file) {
+        try {
+            Files.createDirectories(outputDirectory);
+            replace(file, outputDirectory.resolve(source));
+        } catch (IOException e) {
+            throw new AllureResultsWriteException(ATTACHMENT_WRITE_ERROR + source, e);
+        }
+    }
+
+    /**
+     * Opens the stream to the temporary file in the results directory. The file
+     * is atomically renamed to the attachment file when the stream is closed.
+     */
+    @Override
+    public OutputStream openAttachment(final String source) {
+        final Path target = outputDirectory.resolve(source);
+        try {
+            Files.createDirectories(outputDirectory);
+            return new TempFileOutputStream(createTempPath(), written -> replace(written, target));
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not open Allure attachment " + source, e);
+        }
+    }
+
+    private FileChannel openJson(final String fileName) throws IOException {
+        Files.createDirectories(outputDirectory);
+        return FileChannel.open(outputDirectory.resolve(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private Path createTempPath() {
+        return outputDirectory.resolve(TEMP_FILE_PREFIX + generateId() + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Links or copies the file to the target, which should not exist.
+     */
+    private void copy(final Path target, final Path file) throws IOException {
+        if (!hardLinks || !link(target, file)) {
+            transfer(target, file);
+        }
+    }
+
+    private static void replace(final Path file, final Path target) throws IOException {
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean link(final Path target, final Path file) {
+        try {
+            Files.createLink(target, file);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Could not link attachment file {}, copying it instead", file, e);
+            return false;
+        }
+    }
+
+    private static void transfer(final Path target, final Path file) throws IOException {
+        try (FileChannel input = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final long size = input.size();
+            long position = 0;
+            while (position < size) {
+                position += input.transferTo(position, size - position, output);
+            }
+        }
+    }
+}
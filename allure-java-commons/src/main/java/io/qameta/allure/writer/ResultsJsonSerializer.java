@@ -0,0 +1,484 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.internal.StepSpillStore;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Link;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Hand-written JSON serializer for test results and containers. Produces the same bytes
+ * as the Jackson based {@code FileSystemResultsWriter}: properties are written in the same
+ * order as Jackson writes them, null values are omitted and collections are written only if
+ * they were initialized, so an empty but initialized collection is written as {@code []}.
+ * The collections are read from the model fields rather than the getters, because the
+ * getters initialize them lazily.
+ * <p>
+ * The serializer encodes UTF-8 into the reused fixed size buffer and writes the buffer
+ * to the target each time it fills up, so the memory used does not depend on the size
+ * of the result. It should not be shared between threads. Spilled steps
+ * ({@link StepSpillStore.SpilledStep}) are loaded one by one while they are serialized.
+ *
+ * @since 2.7
+ */
+@SuppressWarnings({"MultipleStringLiterals", "PMD.GodClass", "PMD.TooManyMethods"})
+public final class ResultsJsonSerializer {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The maximum number of bytes a single char of the string needs: the escaped control
+     * char takes six bytes.
+     */
+    private static final int MAX_CHAR_LENGTH = 6;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String NAME = "name";
+
+    private static final String LINKS = "links";
+
+    private static final ListProperty<TestResult, Label> RESULT_LABELS =
+            new ListProperty<>(TestResult.class, "labels", TestResult::getLabels);
+
+    private static final ListProperty<TestResult, Link> RESULT_LINKS =
+            new ListProperty<>(TestResult.class, LINKS, TestResult::getLinks);
+
+    private static final ListProperty<TestResultContainer, String> CONTAINER_CHILDREN =
+            new ListProperty<>(TestResultContainer.class, "children", TestResultContainer::getChildren);
+
+    private static final ListProperty<TestResultContainer, FixtureResult> CONTAINER_BEFORES =
+            new ListProperty<>(TestResultContainer.class, "befores", TestResultContainer::getBefores);
+
+    private static final ListProperty<TestResultContainer, FixtureResult> CONTAINER_AFTERS =
+            new ListProperty<>(TestResultContainer.class, "afters", TestResultContainer::getAfters);
+
+    private static final ListProperty<TestResultContainer, Link> CONTAINER_LINKS =
+            new ListProperty<>(TestResultContainer.class, LINKS, TestResultContainer::getLinks);
+
+    private static final ListProperty<ExecutableItem, StepResult> ITEM_STEPS =
+            new ListProperty<>(ExecutableItem.class, "steps", ExecutableItem::getSteps);
+
+    private static final ListProperty<ExecutableItem, Attachment> ITEM_ATTACHMENTS =
+            new ListProperty<>(ExecutableItem.class, "attachments", ExecutableItem::getAttachments);
+
+    private static final ListProperty<ExecutableItem, Parameter> ITEM_PARAMETERS =
+            new ListProperty<>(ExecutableItem.class, "parameters", ExecutableItem::getParameters);
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+
+    private int size;
+
+    private boolean first;
+
+    private OutputStream stream;
+
+    private WritableByteChannel channel;
+
+    /**
+     * Serializes the test result to the channel.
+     *
+     * @param result  the result to serialize.
+     * @param channel the channel to write to.
+     */
+    public void write(final TestResult result, final WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        try {
+            serialize(result);
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Serializes the container to the channel.
+     *
+     * @param container the container to serialize.
+     * @param channel   the channel to write to.
+     */
+    public void write(final TestResultContainer container, final WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        try {
+            serialize(container);
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Serializes the test result to the stream.
+     *
+     * @param result the result to serialize.
+     * @param target the stream to write to.
+     */
+    public void write(final TestResult result, final OutputStream target) throws IOException {
+        this.stream = target;
+        try {
+            serialize(result);
+        } finally {
+            this.stream = null;
+        }
+    }
+
+    /**
+     * Serializes the container to the stream.
+     *
+     * @param container the container to serialize.
+     * @param target    the stream to write to.
+     */
+    public void write(final TestResultContainer container, final OutputStream target) throws IOException {
+        this.stream = target;
+        try {
+            serialize(container);
+        } finally {
+            this.stream = null;
+        }
+    }
+
+    private void serialize(final TestResult result) throws IOException {
+        size = 0;
+        startObject();
+        stringField("uuid", result.getUuid());
+        stringField("historyId", result.getHistoryId());
+        stringField("testCaseId", result.getTestCaseId());
+        stringField("rerunOf", result.getRerunOf());
+        stringField("fullName", result.getFullName());
+        listField("labels", RESULT_LABELS.get(result), this::label);
+        listField(LINKS, RESULT_LINKS.get(result), this::link);
+        executableItemFields(result);
+        endObject();
+        flushBuffer();
+    }
+
+    private void serialize(final TestResultContainer container) throws IOException {
+        size = 0;
+        startObject();
+        stringField("uuid", container.getUuid());
+        stringField(NAME, container.getName());
+        stringField("description", container.getDescription());
+        stringField("descriptionHtml", container.getDescriptionHtml());
+        longField("start", container.getStart());
+        longField("stop", container.getStop());
+        listField("children", CONTAINER_CHILDREN.get(container), this::string);
+        listField("befores", CONTAINER_BEFORES.get(container), this::fixture);
+        listField("afters", CONTAINER_AFTERS.get(container), this::fixture);
+        listField(LINKS, CONTAINER_LINKS.get(container), this::link);
+        endObject();
+        flushBuffer();
+    }
+
+    private void executableItemFields(final ExecutableItem item) throws IOException {
+        stringField(NAME, item.getName());
+        if (Objects.nonNull(item.getStatus())) {
+            stringField("status", item.getStatus().value());
+        }
+        if (Objects.nonNull(item.getStatusDetails())) {
+            fieldName("statusDetails");
+            statusDetails(item.getStatusDetails());
+        }
+        if (Objects.nonNull(item.getStage())) {
+            stringField("stage", item.getStage().value());
+        }
+        stringField("description", item.getDescription());
+        stringField("descriptionHtml", item.getDescriptionHtml());
+        longField("start", item.getStart());
+        longField("stop", item.getStop());
+        listField("steps", ITEM_STEPS.get(item), this::step);
+        listField("attachments", ITEM_ATTACHMENTS.get(item), this::attachment);
+        listField("parameters", ITEM_PARAMETERS.get(item), this::parameter);
+    }
+
+    private void step(final StepResult step) throws IOException {
+        if (step instanceof StepSpillStore.SpilledStep) {
+            step(((StepSpillStore.SpilledStep) step).load());
+            return;
+        }
+        startObject();
+        executableItemFields(step);
+        endObject();
+    }
+
+    private void fixture(final FixtureResult fixture) throws IOException {
+        startObject();
+        executableItemFields(fixture);
+        endObject();
+    }
+
+    private void statusDetails(final StatusDetails details) throws IOException {
+        startObject();
+        booleanField("known", details.isKnown());
+        booleanField("muted", details.isMuted());
+        booleanField("flaky", details.isFlaky());
+        stringField("message", details.getMessage());
+        stringField("trace", details.getTrace());
+        endObject();
+    }
+
+    private void label(final Label label) throws IOException {
+        startObject();
+        stringField(NAME, label.getName());
+        stringField("value", label.getValue());
+        endObject();
+    }
+
+    private void link(final Link link) throws IOException {
+        startObject();
+        stringField(NAME, link.getName());
+        stringField("url", link.getUrl());
+        stringField("type", link.getType());
+        endObject();
+    }
+
+    private void attachment(final Attachment attachment) throws IOException {
+        startObject();
+        stringField(NAME, attachment.getName());
+        stringField("source", attachment.getSource());
+        stringField("type", attachment.getType());
+        endObject();
+    }
+
+    private void parameter(final Parameter parameter) throws IOException {
+        startObject();
+        stringField(NAME, parameter.getName());
+        stringField("value", parameter.getValue());
+        endObject();
+    }
+
+    private void startObject() throws IOException {
+        writeByte('{');
+        first = true;
+    }
+
+    private void endObject() throws IOException {
+        writeByte('}');
+        first = false;
+    }
+
+    private void fieldName(final String name) throws IOException {
+        if (!first) {
+            writeByte(',');
+        }
+        first = false;
+        string(name);
+        writeByte(':');
+    }
+
+    private void stringField(final String name, final String value) throws IOException {
+        if (Objects.nonNull(value)) {
+            fieldName(name);
+            string(value);
+        }
+    }
+
+    private void longField(final String name, final Long value) throws IOException {
+        if (Objects.nonNull(value)) {
+            fieldName(name);
+            writeAscii(Long.toString(value));
+        }
+    }
+
+    private void booleanField(final String name, final boolean value) throws IOException {
+        fieldName(name);
+        writeAscii(value ? "true" : "false");
+    }
+
+    private <T> void listField(final String name, final List<T> values,
+                               final ElementWriter<T> element) throws IOException {
+        if (Objects.isNull(values)) {
+            return;
+        }
+        fieldName(name);
+        writeByte('[');
+        boolean firstElement = true;
+        for (T value : values) {
+            if (!firstElement) {
+                writeByte(',');
+            }
+            firstElement = false;
+            if (Objects.isNull(value)) {
+                writeAscii("null");
+            } else {
+                element.write(value);
+            }
+        }
+        writeByte(']');
+        first = false;
+    }
+
+    @SuppressWarnings({"CyclomaticComplexity", "ModifiedControlVariable", "PMD.AvoidLiteralsInIfCondition"})
+    private void string(final String value) throws IOException {
+        final int length = value.length();
+        final int limit = buffer.length - MAX_CHAR_LENGTH;
+        writeByte('"');
+        for (int i = 0; i < length; i++) {
+            if (size > limit) {
+                flushBuffer();
+            }
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c < 0x20 || c == '"' || c == '\\') {
+                    escape(c);
+                } else {
+                    buffer[size++] = (byte) c;
+                }
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | c >> 6);
+                buffer[size++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[size++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[size++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buffer[size++] = '?';
+            } else {
+                buffer[size++] = (byte) (0xE0 | c >> 12);
+                buffer[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[size++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        writeByte('"');
+    }
+
+    /**
+     * Writes the escaped char, the caller ensures there is space for {@link #MAX_CHAR_LENGTH} bytes.
+     */
+    private void escape(final char c) {
+        buffer[size++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[size++] = (byte) c;
+                break;
+            case '\b':
+                buffer[size++] = 'b';
+                break;
+            case '\f':
+                buffer[size++] = 'f';
+                break;
+            case '\n':
+                buffer[size++] = 'n';
+                break;
+            case '\r':
+                buffer[size++] = 'r';
+                break;
+            case '\t':
+                buffer[size++] = 't';
+                break;
+            default:
+                buffer[size++] = 'u';
+                buffer[size++] = '0';
+                buffer[size++] = '0';
+                buffer[size++] = HEX[c >> 4];
+                buffer[size++] = HEX[c & 0xF];
+                break;
+        }
+    }
+
+    private void writeByte(final char c) throws IOException {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void writeAscii(final String value) throws IOException {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    /**
+     * Writes the buffer out if there is no space for given number of bytes, which is
+     * never more than the size of the buffer.
+     */
+    private void ensureCapacity(final int length) throws IOException {
+        if (size + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (Objects.nonNull(channel)) {
+            wrapped.clear().limit(size);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+        } else {
+            stream.write(buffer, 0, size);
+        }
+        size = 0;
+    }
+
+    /**
+     * Writes the single list element.
+     *
+     * @param <T> the type of the element.
+     */
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+
+        void write(T value) throws IOException;
+
+    }
+
+    /**
+     * Reads the collection from the model field without initializing it, falls back
+     * to the getter if the field can not be accessed.
+     *
+     * @param <O> the type of the model object.
+     * @param <T> the type of the collection element.
+     */
+    private static final class ListProperty<O, T> {
+
+        private final Field field;
+
+        private final Function<O, List<T>> getter;
+
+        ListProperty(final Class<O> type, final String name, final Function<O, List<T>> getter) {
+            this.field = findField(type, name);
+            this.getter = getter;
+        }
+
+        @SuppressWarnings({"unchecked", "ReturnCount"})
+        public List<T> get(final O item) {
+            if (Objects.isNull(field)) {
+                return getter.apply(item);
+            }
+            try {
+                return (List<T>) field.get(item);
+            } catch (IllegalAccessException | ClassCastException e) {
+                return getter.apply(item);
+            }
+        }
+
+        private static Field findField(final Class<?> type, final String name) {
+            try {
+                final Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException | SecurityException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.qameta.allure.writer;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stream that writes to the temporary file and publishes the file on close.
+ * The temporary file is removed after it is published or if publishing fails.
+ */
+final class TempFileOutputStream extends FilterOutputStream {
+
+    private final Path file;
+
+    private final Publisher publisher;
+
+    private boolean closed;
+
+    TempFileOutputStream(final Path file, final Publisher publisher) throws IOException {
+        super(Files.newOutputStream(file));
+        this.file = file;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            super.close();
+            publisher.publish(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Action that publishes the written file.
+     */
+    @FunctionalInterface
+    public interface Publisher {
+
+        void publish(Path file) throws IOException;
+
+    }
+}
@@ -0,0 +1,150 @@
+package io.qameta.allure;
+
+import io.qameta.allure.context.AllureContextExecutorService;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.test.AllureResultsWriterStub;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AllureContextTest {
+
+    private AllureResultsWriterStub results;
+
+    private AllureLifecycle lifecycle;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        results = new AllureResultsWriterStub();
+        lifecycle = new AllureLifecycle(results);
+        executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> {
+            //start worker thread before any test is started
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldAttachStepsFromPoolToRightTest() throws Exception {
+        final ExecutorService service = new AllureContextExecutorService(executor, lifecycle);
+
+        final String first = startTest();
+        service.submit(() -> step("first step")).get(10, TimeUnit.SECONDS);
+        stopTest(first);
+
+        final String second = startTest();
+        service.submit(() -> step("second step")).get(10, TimeUnit.SECONDS);
+        stopTest(second);
+
+        assertThat(results.getTestResults())
+                .extracting(TestResult::getUuid)
+                .containsExactly(first, second);
+        assertThat(results.getTestResults().get(0).getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("first step");
+        assertThat(results.getTestResults().get(1).getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("second step");
+    }
+
+    @Test
+    public void shouldRestorePreviousContext() throws Exception {
+        final String uuid = startTest();
+        final AllureContext context = lifecycle.captureContext();
+        stopTest(uuid);
+
+        final AllureContext previous = context.restore();
+        assertThat(lifecycle.getCurrentTestCase())
+                .hasValue(uuid);
+
+        previous.restore();
+        assertThat(lifecycle.getCurrentTestCase())
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldNotKeepContextInPoolThread() throws Exception {
+        final ExecutorService service = new AllureContextExecutorService(executor, lifecycle);
+        final String uuid = startTest();
+        service.submit(() -> step(randomString())).get(10, TimeUnit.SECONDS);
+        stopTest(uuid);
+
+        assertThat(executor.submit(() -> lifecycle.getCurrentTestCase()).get(10, TimeUnit.SECONDS))
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldWrapLambdasWithinContext() throws Exception {
+        final String uuid = startTest();
+        final AllureContext context = lifecycle.captureContext();
+
+        assertThat(executor.submit(context.wrapCallable(() -> lifecycle.getCurrentTestCase()))
+                .get(10, TimeUnit.SECONDS))
+                .hasValue(uuid);
+        assertThat(executor.submit(() -> context.wrapSupplier(() -> lifecycle.getCurrentTestCase()).get())
+                .get(10, TimeUnit.SECONDS))
+                .hasValue(uuid);
+        stopTest(uuid);
+    }
+
+    @Test
+    public void shouldNotAttachStepsOfInheritedContextToWrittenTest() throws Exception {
+        final String uuid = startTest();
+        final CountDownLatch written = new CountDownLatch(1);
+        final AtomicReference<Optional<String>> inherited = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            inherited.set(lifecycle.getCurrentTestCase());
+            try {
+                written.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            step("late step");
+        });
+        thread.start();
+        stopTest(uuid);
+        written.countDown();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(inherited.get())
+                .hasValue(uuid);
+        assertThat(results.getTestResults())
+                .flatExtracting(TestResult::getSteps)
+                .isEmpty();
+    }
+
+    private void step(final String name) {
+        final String uuid = randomString();
+        lifecycle.startStep(uuid, new StepResult().withName(name));
+        lifecycle.stopStep(uuid);
+    }
+
+    private String startTest() {
+        final String uuid = randomString();
+        lifecycle.scheduleTestCase(new TestResult().withUuid(uuid));
+        lifecycle.startTestCase(uuid);
+        return uuid;
+    }
+
+    private void stopTest(final String uuid) {
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
@@ -1,5 +1,6 @@
 package io.qameta.allure;
 
+import io.qameta.allure.clock.Clock;
 import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
@@ -7,14 +8,24 @@ import io.qameta.allure.model.TestResultContainer;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static io.qameta.allure.testdata.TestData.randomString;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -256,6 +267,93 @@ public class AllureLifecycleTest {
                 .containsExactly(firstStepName, secondStepName);
     }
 
+    @Test
+    public void shouldUseClockForTimestamps() throws Exception {
+        final AtomicLong time = new AtomicLong(1000);
+        final Clock clock = new Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return time.get();
+            }
+
+            @Override
+            public long nanoTime() {
+                return TimeUnit.MILLISECONDS.toNanos(time.get());
+            }
+        };
+        lifecycle = new AllureLifecycle(writer, clock);
+
+        final String uuid = randomString();
+        lifecycle.scheduleTestCase(new TestResult().withUuid(uuid));
+        lifecycle.startTestCase(uuid);
+        final String stepUuid = randomString();
+        lifecycle.startStep(stepUuid, new StepResult().withName(randomString()));
+        time.set(1500);
+        lifecycle.stopStep(stepUuid);
+        time.set(2000);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+
+        final ArgumentCaptor<TestResult> captor = forClass(TestResult.class);
+        verify(writer, times(1)).write(captor.capture());
+
+        final TestResult actual = captor.getValue();
+        assertThat(actual)
+                .hasFieldOrPropertyWithValue("start", 1000L)
+                .hasFieldOrPropertyWithValue("stop", 2000L);
+        assertThat(actual.getSteps())
+                .extracting(StepResult::getStart, StepResult::getStop)
+                .containsExactly(tuple(1000L, 1500L));
+    }
+
+    @Test
+    public void shouldWriteAsyncAttachmentsBeforeTest() throws Exception {
+        final String uuid = randomString();
+        lifecycle.scheduleTestCase(new TestResult().withUuid(uuid).withName(randomString()));
+        lifecycle.startTestCase(uuid);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        lifecycle.addByteAttachmentAsync(randomString(), "text/plain", "txt", () -> {
+            started.countDown();
+            await(release);
+            return randomString().getBytes(StandardCharsets.UTF_8);
+        });
+        started.await();
+        lifecycle.stopTestCase(uuid);
+        final Thread write = new Thread(() -> lifecycle.writeTestCase(uuid));
+        write.start();
+        write.join(100);
+        verify(writer, times(0)).write(any(TestResult.class));
+        release.countDown();
+        write.join();
+
+        final InOrder order = inOrder(writer);
+        order.verify(writer).write(anyString(), any(InputStream.class));
+        order.verify(writer).write(any(TestResult.class));
+    }
+
+    @Test
+    public void shouldCompleteAsyncAttachmentsBeforeClosingWriter() throws Exception {
+        final AllureResultsWriter closeable = Mockito.mock(AllureResultsWriter.class,
+                Mockito.withSettings().extraInterfaces(AutoCloseable.class));
+        final AllureLifecycle closing = new AllureLifecycle(closeable);
+        closing.addByteAttachmentAsync(randomString(), "text/plain", "txt",
+                () -> randomString().getBytes(StandardCharsets.UTF_8));
+        closing.shutdown();
+
+        final InOrder order = inOrder(closeable);
+        order.verify(closeable).write(anyString(), any(InputStream.class));
+        order.verify((AutoCloseable) closeable).close();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private String randomStep(String parentUuid) {
         final String uuid = randomString();
         final String name = randomString();
@@ -1,5 +1,6 @@
 package io.qameta.allure;
 
+import io.qameta.allure.util.AllureConfiguration;
 import io.qameta.allure.util.ResultsUtils;
 import io.qameta.allure.model.Link;
 import org.junit.After;
@@ -58,6 +59,7 @@ public class LinksTests {
         if (Objects.nonNull(type) && Objects.nonNull(sysProp)) {
             System.setProperty(getLinkTypePatternPropertyName(type), sysProp);
         }
+        AllureConfiguration.reload();
     }
 
     @Test
@@ -75,6 +77,7 @@ public class LinksTests {
         if (Objects.nonNull(type) && Objects.nonNull(sysProp)) {
             System.clearProperty(getLinkTypePatternPropertyName(type));
         }
+        AllureConfiguration.reload();
     }
 
     private static Link link(String name, String url, String type) {
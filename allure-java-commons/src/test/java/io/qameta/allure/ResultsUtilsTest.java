@@ -1,13 +1,17 @@
 package io.qameta.allure;
 
+import io.qameta.allure.model.Label;
 import org.junit.Test;
 
 import java.lang.annotation.Annotation;
+import java.util.concurrent.CompletableFuture;
 
 import static io.qameta.allure.util.ResultsUtils.ISSUE_LINK_TYPE;
 import static io.qameta.allure.util.ResultsUtils.TMS_LINK_TYPE;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.createIssueLink;
 import static io.qameta.allure.util.ResultsUtils.createLink;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static io.qameta.allure.util.ResultsUtils.createTmsLink;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -120,4 +124,18 @@ public class ResultsUtilsTest {
                 .hasFieldOrPropertyWithValue("url", null)
                 .hasFieldOrPropertyWithValue("type", TMS_LINK_TYPE);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCreateNewHostAndThreadLabels() throws Exception {
+        final Label thread = createThreadLabel();
+        final Label otherThread = CompletableFuture.supplyAsync(() -> createThreadLabel()).get();
+        final Label host = createHostLabel();
+        host.setValue("modified");
+
+        assertThat(createHostLabel()).isNotSameAs(host);
+        assertThat(createHostLabel().getValue()).isNotEqualTo("modified");
+        assertThat(createThreadLabel()).isNotSameAs(thread);
+        assertThat(createThreadLabel().getValue()).isEqualTo(thread.getValue());
+        assertThat(otherThread.getValue()).isNotEqualTo(thread.getValue());
+    }
+}
@@ -0,0 +1,54 @@
+package io.qameta.allure.id;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FastIdGeneratorTest {
+
+    @Test
+    public void shouldGenerateUniqueIdsInParallel() throws Exception {
+        final FastIdGenerator generator = new FastIdGenerator();
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> IntStream.range(0, 10000)
+                            .forEach(j -> ids.add(generator.generateId()))))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids)
+                .hasSize(80000);
+    }
+
+    @Test
+    public void shouldGenerateDifferentIdsForDifferentJvms() throws Exception {
+        final String first = new FastIdGenerator().generateId();
+        final String second = new FastIdGenerator().generateId();
+        assertThat(first)
+                .isNotEqualTo(second);
+    }
+
+    @Test
+    public void shouldGenerateUuidFormattedIds() throws Exception {
+        final String id = new FastIdGenerator(42L).generateId();
+        assertThat(UUID.fromString(id).toString())
+                .isEqualTo(id);
+    }
+}
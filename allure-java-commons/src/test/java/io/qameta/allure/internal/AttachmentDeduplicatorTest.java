@@ -0,0 +1,85 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.writer.LinkingResultsWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AttachmentDeduplicatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteIdenticalAttachmentsOnce() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final AllureResultsWriter writer = mock(AllureResultsWriter.class);
+        final AttachmentDeduplicator deduplicator = new AttachmentDeduplicator(directory);
+        final byte[] body = randomString().getBytes(StandardCharsets.UTF_8);
+
+        final String first = deduplicator.write(writer, ".txt", body);
+        final String second = deduplicator.write(writer, ".txt", new ByteArrayInputStream(body));
+
+        assertThat(second)
+                .isEqualTo(first)
+                .endsWith("-attachment.txt");
+        verify(writer, times(1)).write(eq(first), any(InputStream.class));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void shouldWriteDifferentAttachments() throws Exception {
+        final AllureResultsWriter writer = mock(AllureResultsWriter.class);
+        final AttachmentDeduplicator deduplicator = new AttachmentDeduplicator(folder.newFolder().toPath());
+        final byte[] body = randomString().getBytes(StandardCharsets.UTF_8);
+
+        final String first = deduplicator.write(writer, ".txt", body);
+        final String second = deduplicator.write(writer, ".csv", body);
+        final String third = deduplicator.write(writer, ".txt", randomString().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(first)
+                .isNotEqualTo(second)
+                .isNotEqualTo(third);
+        assertThat(deduplicator.getWrittenCount())
+                .isEqualTo(3);
+        verify(writer, times(3)).write(anyString(), any(InputStream.class));
+    }
+
+    @Test
+    public void shouldMoveStreamedAttachmentToResults() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final AllureResultsWriter writer = new LinkingResultsWriter(directory);
+        final String content = randomString();
+        final byte[] body = content.getBytes(StandardCharsets.UTF_8);
+
+        final String source = new AttachmentDeduplicator(directory)
+                .write(writer, ".txt", new ByteArrayInputStream(body));
+        final String same = new AttachmentDeduplicator(directory)
+                .write(writer, ".txt", new ByteArrayInputStream(body));
+
+        assertThat(same).isEqualTo(source);
+        assertThat(directory.resolve(source)).hasContent(content);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+}
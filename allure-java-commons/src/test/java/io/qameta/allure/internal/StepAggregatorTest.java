@@ -0,0 +1,94 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.LazyParameter;
+import io.qameta.allure.util.ParameterFormatter;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class StepAggregatorTest {
+
+    private static final String ROOT_UUID = "root";
+
+    @Test
+    public void shouldMergeIdenticalPassedSteps() throws Exception {
+        final StepAggregator aggregator = new StepAggregator(null);
+        final TestResult test = new TestResult();
+        for (int i = 1; i <= 3; i++) {
+            stop(aggregator, test, step("poll", Status.PASSED, "order"), i * 10);
+        }
+
+        assertThat(test.getSteps())
+                .hasSize(1);
+        assertThat(test.getSteps().get(0).getParameters())
+                .extracting(Parameter::getName, Parameter::getValue)
+                .containsExactly(
+                        tuple("status", "order"),
+                        tuple(StepAggregator.ITERATIONS_PARAMETER, "3"),
+                        tuple(StepAggregator.MIN_DURATION_PARAMETER, "10"),
+                        tuple(StepAggregator.AVG_DURATION_PARAMETER, "20"),
+                        tuple(StepAggregator.MAX_DURATION_PARAMETER, "30")
+                );
+    }
+
+    @Test
+    public void shouldKeepFailedAndDistinctSteps() throws Exception {
+        final StepAggregator aggregator = new StepAggregator(null);
+        final TestResult test = new TestResult();
+        stop(aggregator, test, step("poll", Status.PASSED, "first"), 1);
+        stop(aggregator, test, step("poll", Status.PASSED, "second"), 1);
+        stop(aggregator, test, step("poll", Status.FAILED, "second"), 1);
+        stop(aggregator, test, step("poll", Status.PASSED, "second"), 1);
+
+        assertThat(test.getSteps())
+                .extracting(StepResult::getStatus)
+                .containsExactly(Status.PASSED, Status.PASSED, Status.FAILED, Status.PASSED);
+    }
+
+    @Test
+    public void shouldCompareLazyParametersWithoutRendering() throws Exception {
+        final StepAggregator aggregator = new StepAggregator(null);
+        final TestResult test = new TestResult();
+        final AtomicInteger rendered = new AtomicInteger();
+        final Object argument = new Object() {
+            @Override
+            public String toString() {
+                rendered.incrementAndGet();
+                return "argument";
+            }
+        };
+        final ParameterFormatter formatter = new ParameterFormatter(Integer.MAX_VALUE, Integer.MAX_VALUE, true);
+        for (int i = 1; i <= 3; i++) {
+            final StepResult step = step("poll", Status.PASSED, "order");
+            step.getParameters().add(new LazyParameter("argument", argument, formatter));
+            stop(aggregator, test, step, i);
+        }
+
+        assertThat(test.getSteps())
+                .hasSize(1);
+        assertThat(rendered.get())
+                .isEqualTo(0);
+    }
+
+    private static StepResult step(final String name, final Status status, final String value) {
+        final StepResult step = new StepResult();
+        step.setName(name);
+        step.setStatus(status);
+        step.getParameters().add(new Parameter().withName("status").withValue(value));
+        return step;
+    }
+
+    private static void stop(final StepAggregator aggregator, final TestResult parent,
+                             final StepResult step, final long durationMillis) {
+        parent.getSteps().add(step);
+        aggregator.stepStopped(ROOT_UUID, parent, step, TimeUnit.MILLISECONDS.toNanos(durationMillis));
+    }
+}
@@ -0,0 +1,129 @@
+package io.qameta.allure.internal;
+
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.WithSteps;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class StepSpillStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRestoreSpilledSteps() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final StepSpillStore store = new StepSpillStore(directory, 2);
+        final TestResult test = new TestResult().withUuid(randomString());
+
+        for (int i = 0; i < 5; i++) {
+            final StepResult parent = start(store, test, test, "parent " + i);
+            final StepResult child = start(store, test, parent, "child " + i);
+            child.getParameters().add(new Parameter().withName("index").withValue(String.valueOf(i)));
+            child.setStatusDetails(new StatusDetails().withMessage("message " + i));
+            store.stepStopped(test, child);
+            store.stepStopped(test, parent);
+        }
+
+        assertThat(test.getSteps().get(4).getSteps())
+                .isEmpty();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+
+        store.restore(test);
+
+        assertThat(test.getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("parent 0", "parent 1", "parent 2", "parent 3", "parent 4");
+        assertThat(test.getSteps())
+                .flatExtracting(StepResult::getSteps)
+                .extracting(StepResult::getName, StepResult::getStatus, step -> step.getStatusDetails().getMessage())
+                .hasSize(5)
+                .contains(tuple("child 4", Status.PASSED, "message 4"));
+        assertThat(test.getSteps().get(4).getSteps().get(0).getParameters())
+                .extracting(Parameter::getValue)
+                .containsExactly("4");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void shouldLoadDetachedSteps() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final StepSpillStore store = new StepSpillStore(directory, 1);
+        final TestResult test = new TestResult().withUuid(randomString());
+
+        final StepResult parent = start(store, test, test, "parent");
+        for (int i = 0; i < 3; i++) {
+            final StepResult child = start(store, test, parent, "child " + i);
+            store.stepStopped(test, child);
+        }
+        store.stepStopped(test, parent);
+
+        try (StepSpillStore.SpillFile ignored = store.detach(test)) {
+            assertThat(parent.getSteps())
+                    .hasSize(3)
+                    .allMatch(StepSpillStore.SpilledStep.class::isInstance);
+            final StepResult loaded = ((StepSpillStore.SpilledStep) parent.getSteps().get(1)).load();
+            assertThat(loaded)
+                    .isNotInstanceOf(StepSpillStore.SpilledStep.class);
+            assertThat(loaded.getName())
+                    .isEqualTo("child 1");
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void shouldNotCountRemovedSteps() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final StepSpillStore store = new StepSpillStore(directory, 2);
+        final TestResult test = new TestResult().withUuid(randomString());
+
+        store.stepStopped(test, start(store, test, test, "first"));
+        for (int i = 0; i < 3; i++) {
+            final StepResult merged = start(store, test, test, "merged " + i);
+            test.getSteps().remove(merged);
+            store.stepRemoved(test, merged);
+        }
+        store.stepStopped(test, start(store, test, test, "last"));
+
+        assertThat(test.getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("first", "last");
+        assertThat(test.getSteps())
+                .extracting(Object::getClass)
+                .containsOnly(StepResult.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0);
+        }
+    }
+
+    private static StepResult start(final StepSpillStore store, final TestResult root,
+                                    final WithSteps parent, final String name) {
+        final StepResult step = new StepResult().withName(name);
+        step.setStatus(Status.PASSED);
+        step.setStage(Stage.FINISHED);
+        parent.getSteps().add(step);
+        store.stepStarted(root, parent, step);
+        return step;
+    }
+}
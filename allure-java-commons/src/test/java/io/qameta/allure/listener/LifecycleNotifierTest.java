@@ -0,0 +1,207 @@
+package io.qameta.allure.listener;
+
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.LazyStatusDetails;
+import io.qameta.allure.util.StackTraceRenderer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LifecycleNotifierTest {
+
+    @Test
+    public void shouldNotifyListenersAfterFailedOne() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final LifecycleNotifier notifier = stepNotifier(false, new StepLifecycleListener() {
+            @Override
+            public void beforeStepStart(final StepResult result) {
+                throw new IllegalStateException("listener failure");
+            }
+        }, new StepLifecycleListener() {
+            @Override
+            public void beforeStepStart(final StepResult result) {
+                events.add(result.getName());
+            }
+        });
+
+        notifier.beforeStepStart(new StepResult().withName("step"));
+
+        assertThat(events)
+                .containsExactly("step");
+    }
+
+    @Test
+    public void shouldTrackListenerTimings() throws Exception {
+        final StepLifecycleListener listener = new StepLifecycleListener() {
+            @Override
+            public void afterStepStop(final StepResult result) {
+                //do nothing
+            }
+        };
+        final LifecycleNotifier notifier = stepNotifier(true, listener);
+
+        notifier.afterStepStop(new StepResult());
+
+        assertThat(notifier.getListenerTimings())
+                .containsOnlyKeys(listener.getClass().getName());
+    }
+
+    @Test
+    public void shouldNotTrackTimingsIfDisabled() throws Exception {
+        final LifecycleNotifier notifier = stepNotifier(false, new StepLifecycleListener() {
+        });
+
+        notifier.afterStepStop(new StepResult());
+
+        assertThat(notifier.getListenerTimings())
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldNotifyAsyncListenersInOrderWithSnapshots() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final LifecycleNotifier notifier = stepNotifier(false, new AsyncStepListener(events));
+
+        final StepResult step = new StepResult().withName("first");
+        notifier.afterStepStart(step);
+        step.setName("second");
+        notifier.afterStepStop(step);
+        step.setName("third");
+        notifier.awaitAsyncListeners();
+
+        assertThat(events)
+                .containsExactly("start first", "stop second");
+    }
+
+    @Test
+    public void shouldCompleteAsyncNotificationsOnClose() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final LifecycleNotifier notifier = stepNotifier(false, new AsyncStepListener(events));
+
+        notifier.afterStepStart(new StepResult().withName("first"));
+        notifier.close();
+        notifier.afterStepStop(new StepResult().withName("second"));
+
+        assertThat(events)
+                .containsExactly("start first", "stop second");
+    }
+
+    @Test
+    public void shouldNotifyEventsOfSameRootOnSameWorker() throws Exception {
+        final List<String> workers = new CopyOnWriteArrayList<>();
+        final LifecycleNotifier notifier = stepNotifier(false, new AsyncStepListener(new ArrayList<>()) {
+            @Override
+            public void afterStepStart(final StepResult result) {
+                workers.add(Thread.currentThread().getName());
+            }
+        });
+
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> notifier.afterStepStart("root", new StepResult()));
+            thread.start();
+            thread.join();
+        }
+        notifier.awaitAsyncListeners();
+
+        assertThat(workers)
+                .hasSize(8)
+                .containsOnly(workers.get(0));
+    }
+
+    @Test
+    public void shouldShareFinishedStepsAndLazyDetailsInSnapshots() throws Exception {
+        final List<TestResult> snapshots = new CopyOnWriteArrayList<>();
+        final LifecycleNotifier notifier = new LifecycleNotifier(
+                Collections.emptyList(),
+                Collections.singletonList(new AsyncTestListener(snapshots)),
+                Collections.emptyList(),
+                Collections.emptyList()
+        );
+        final StepResult finished = new StepResult().withName("finished").withStage(Stage.FINISHED);
+        final StepResult running = new StepResult().withName("running").withStage(Stage.RUNNING);
+        final StatusDetails details = new LazyStatusDetails(
+                new IllegalStateException(), StackTraceRenderer.getDefault());
+        final TestResult result = new TestResult()
+                .withUuid("uuid")
+                .withTestCaseId("test-case-id")
+                .withRerunOf("rerun-of")
+                .withStatusDetails(details)
+                .withSteps(finished, running);
+
+        notifier.afterTestUpdate(result);
+        notifier.awaitAsyncListeners();
+
+        assertThat(snapshots)
+                .hasSize(1);
+        final TestResult snapshot = snapshots.get(0);
+        assertThat(snapshot)
+                .isNotSameAs(result)
+                .hasFieldOrPropertyWithValue("testCaseId", "test-case-id")
+                .hasFieldOrPropertyWithValue("rerunOf", "rerun-of");
+        assertThat(snapshot.getStatusDetails())
+                .isSameAs(details);
+        assertThat(snapshot.getSteps().get(0))
+                .isSameAs(finished);
+        assertThat(snapshot.getSteps().get(1))
+                .isNotSameAs(running)
+                .hasFieldOrPropertyWithValue("name", "running");
+    }
+
+    private static LifecycleNotifier stepNotifier(final boolean timing, final StepLifecycleListener... listeners) {
+        return new LifecycleNotifier(
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Arrays.asList(listeners),
+                timing
+        );
+    }
+
+    /**
+     * Async listener that records step names.
+     */
+    private static class AsyncStepListener implements StepLifecycleListener, AsyncLifecycleListener {
+
+        private final List<String> events;
+
+        AsyncStepListener(final List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void afterStepStart(final StepResult result) {
+            events.add("start " + result.getName());
+        }
+
+        @Override
+        public void afterStepStop(final StepResult result) {
+            events.add("stop " + result.getName());
+        }
+    }
+
+    /**
+     * Async listener that records test snapshots.
+     */
+    private static class AsyncTestListener implements TestLifecycleListener, AsyncLifecycleListener {
+
+        private final List<TestResult> snapshots;
+
+        AsyncTestListener(final List<TestResult> snapshots) {
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public void afterTestUpdate(final TestResult result) {
+            snapshots.add(result);
+        }
+    }
+}
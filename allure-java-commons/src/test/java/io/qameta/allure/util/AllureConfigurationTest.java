@@ -0,0 +1,77 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.writer.AsyncResultsWriter.OverflowPolicy;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static io.qameta.allure.util.ResultsUtils.getLinkTypePatternPropertyName;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AllureConfigurationTest {
+
+    @Test
+    public void shouldFormatLinkPatterns() {
+        final Properties properties = new Properties();
+        properties.setProperty(getLinkTypePatternPropertyName("issue"), "https://example.com/{}/view/{}");
+        properties.setProperty(getLinkTypePatternPropertyName("tms"), "https://example.com/tms");
+        final AllureConfiguration configuration = new AllureConfiguration(properties);
+
+        assertThat(configuration.getLinkUrl("issue", "$1\\a")).isEqualTo("https://example.com/$1\\a/view/$1\\a");
+        assertThat(configuration.getLinkUrl("issue", null)).isEqualTo("https://example.com//view/");
+        assertThat(configuration.getLinkUrl("tms", "a")).isEqualTo("https://example.com/tms");
+        assertThat(configuration.getLinkUrl("custom", "a")).isNull();
+    }
+
+    @Test
+    public void shouldReadTypedProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("flag", "true");
+        properties.setProperty("number", "42");
+        final AllureConfiguration configuration = new AllureConfiguration(properties);
+        properties.setProperty("flag", "false");
+
+        assertThat(configuration.getBoolean("flag", false)).isTrue();
+        assertThat(configuration.getInt("number", 0)).isEqualTo(42);
+        assertThat(configuration.getLong("missing", 7L)).isEqualTo(7L);
+        assertThat(configuration.isSeparateLines()).isFalse();
+    }
+
+    @Test
+    public void shouldUseDefaultsForMalformedProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("int", "4two");
+        properties.setProperty("long", "");
+        properties.setProperty("negative", "-1");
+        properties.setProperty("policy", "sometimes");
+        properties.setProperty("lowercase", " caller_runs ");
+        properties.setProperty(ParameterFormatter.MAX_LENGTH_PROPERTY, "0");
+        properties.setProperty(ParameterFormatter.MAX_ELEMENTS_PROPERTY, "many");
+        final AllureConfiguration configuration = new AllureConfiguration(properties);
+
+        assertThat(configuration.getInt("int", 3)).isEqualTo(3);
+        assertThat(configuration.getLong("long", 5L)).isEqualTo(5L);
+        assertThat(configuration.getInt("negative", 3)).isEqualTo(-1);
+        assertThat(configuration.getPositiveInt("negative", 3)).isEqualTo(3);
+        assertThat(configuration.getPositiveLong("negative", 5L)).isEqualTo(5L);
+        assertThat(configuration.getEnum("policy", OverflowPolicy.class, OverflowPolicy.BLOCK))
+                .isEqualTo(OverflowPolicy.BLOCK);
+        assertThat(configuration.getEnum("lowercase", OverflowPolicy.class, OverflowPolicy.BLOCK))
+                .isEqualTo(OverflowPolicy.CALLER_RUNS);
+        assertThat(configuration.getParameterFormatter().format("value")).isEqualTo("value");
+        assertThat(ParameterFormatter.fromProperties(properties).format("value")).isEqualTo("value");
+    }
+
+    @Test
+    public void shouldUseStackTraceRendererOfReloadedConfiguration() {
+        System.setProperty(StackTraceRenderer.LAZY_PROPERTY, "false");
+        try {
+            AllureConfiguration.reload();
+            assertThat(StackTraceRenderer.getDefault().isLazy()).isFalse();
+        } finally {
+            System.clearProperty(StackTraceRenderer.LAZY_PROPERTY);
+            AllureConfiguration.reload();
+        }
+        assertThat(StackTraceRenderer.getDefault().isLazy()).isTrue();
+    }
+}
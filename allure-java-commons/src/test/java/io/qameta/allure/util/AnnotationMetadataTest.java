@@ -0,0 +1,124 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Flaky;
+import io.qameta.allure.Issue;
+import io.qameta.allure.Muted;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Story;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Link;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class AnnotationMetadataTest {
+
+    @Test
+    public void shouldCreateLabelsFromRepeatableAnnotations() throws Exception {
+        final AnnotationMetadata metadata = AnnotationMetadata.of(AnnotatedTest.class.getMethod("annotated"));
+
+        assertThat(metadata.getLabels(Epic.class))
+                .extracting(Label::getName, Label::getValue)
+                .containsExactly(tuple("epic", "first"), tuple("epic", "second"));
+        assertThat(metadata.getLabels())
+                .extracting(Label::getName)
+                .containsExactly("epic", "epic", "story");
+        assertThat(metadata.isFlaky()).isTrue();
+        assertThat(metadata.isMuted()).isFalse();
+    }
+
+    @Test
+    public void shouldFallBackToClassLabels() throws Exception {
+        final Method method = AnnotatedTest.class.getMethod("annotated");
+        final AnnotationMetadata metadata = AnnotationMetadata.of(AnnotatedTest.class, method);
+
+        assertThat(metadata.getLabels())
+                .extracting(Label::getName, Label::getValue)
+                .containsExactly(
+                        tuple("epic", "first"),
+                        tuple("epic", "second"),
+                        tuple("feature", "class feature"),
+                        tuple("story", "method story"),
+                        tuple("owner", "class owner")
+                );
+        assertThat(metadata.getLinks())
+                .extracting(Link::getName)
+                .containsExactly("class issue", "method issue");
+        assertThat(metadata.isFlaky()).isTrue();
+        assertThat(metadata.isMuted()).isTrue();
+    }
+
+    @Test
+    public void shouldCacheMetadata() throws Exception {
+        final Method method = AnnotatedTest.class.getMethod("annotated");
+
+        assertThat(AnnotationMetadata.of(AnnotatedTest.class))
+                .isSameAs(AnnotationMetadata.of(AnnotatedTest.class));
+        assertThat(AnnotationMetadata.of(method))
+                .isSameAs(AnnotationMetadata.of(method));
+        assertThat(AnnotationMetadata.of(AnnotatedTest.class, method))
+                .isSameAs(AnnotationMetadata.of(AnnotatedTest.class, method));
+    }
+
+    @Test
+    public void shouldReturnNewLabelsAndLinks() throws Exception {
+        final AnnotationMetadata metadata = AnnotationMetadata.of(AnnotatedTest.class);
+        metadata.getLabels().get(0).setValue("modified");
+        metadata.getLinks(Issue.class).get(0).setName("modified");
+
+        assertThat(metadata.getLabels(Epic.class))
+                .extracting(Label::getValue)
+                .containsExactly("class epic");
+        assertThat(metadata.getLinks())
+                .extracting(Link::getName)
+                .containsExactly("class issue");
+    }
+
+    @Test
+    public void shouldResolveLinkUrlsWithCurrentConfiguration() throws Exception {
+        final String property = ResultsUtils.getLinkTypePatternPropertyName(ResultsUtils.ISSUE_LINK_TYPE);
+        final AnnotationMetadata metadata = AnnotationMetadata.of(AnnotatedTest.class);
+        metadata.getLinks();
+        System.setProperty(property, "https://example.com/{}");
+        try {
+            AllureConfiguration.reload();
+            assertThat(metadata.getLinks())
+                    .extracting(Link::getUrl)
+                    .containsExactly("https://example.com/class issue");
+        } finally {
+            System.clearProperty(property);
+            AllureConfiguration.reload();
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyMetadata() {
+        final AnnotationMetadata metadata = AnnotationMetadata.of(null, null);
+
+        assertThat(metadata.getLabels()).isEmpty();
+        assertThat(metadata.getLinks()).isEmpty();
+        assertThat(metadata.getLabels(Test.class)).isEmpty();
+    }
+
+    @Epic("class epic")
+    @Feature("class feature")
+    @Owner("class owner")
+    @Issue("class issue")
+    @Muted
+    public static class AnnotatedTest {
+
+        @Epic("first")
+        @Epic("second")
+        @Story("method story")
+        @Issue("method issue")
+        @Flaky
+        public void annotated() {
+            // test method
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.qameta.allure.util;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HistoryIdsTest {
+
+    @Test
+    public void shouldHashSameAsConcatenatedString() throws Exception {
+        final String first = randomString() + "\u00e9\u4e2d\ud83d\ude00\ud83d";
+        final String second = String.join("", Collections.nCopies(1000, "\u4e2d"));
+        final MessageDigest digest = MessageDigest.getInstance("MD5");
+        final byte[] expected = digest.digest((first + second).getBytes(StandardCharsets.UTF_8));
+
+        final String historyId = HistoryIds.hasher().update(first).update(second).toHistoryId();
+
+        assertThat(historyId).isEqualTo(new BigInteger(1, expected).toString(16));
+    }
+
+    @Test
+    public void shouldEncodeHex() {
+        final byte[] bytes = {0, 1, (byte) 0xAB, (byte) 0xFF};
+
+        assertThat(HistoryIds.toHex(bytes)).isEqualTo("0001abff");
+        assertThat(HistoryIds.toCompactHex(bytes)).isEqualTo("1abff");
+        assertThat(HistoryIds.toCompactHex(new byte[2])).isEqualTo("0");
+    }
+}
@@ -0,0 +1,27 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.testdata.DummyUser;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NameTemplateTest {
+
+    @Test
+    public void shouldFormatBoundTemplate() throws Exception {
+        final NameTemplate template = NameTemplate.compile("{method}: {user.password} in {1}")
+                .bind("login", "user", "browser");
+
+        assertThat(template.format(new DummyUser(null, "123", null), "chrome"))
+                .isEqualTo("login: 123 in chrome");
+    }
+
+    @Test
+    public void shouldKeepUnknownPlaceholders() throws Exception {
+        final NameTemplate template = NameTemplate.compile("{} {missing} {user")
+                .bind("login", "user");
+
+        assertThat(template.format("Ivan"))
+                .isEqualTo("{} {missing} {user");
+    }
+}
@@ -0,0 +1,108 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.model.StepResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParameterFormatterTest {
+
+    private final ParameterFormatter formatter = new ParameterFormatter(20, 3);
+
+    @Test
+    public void shouldFormatValuesAsToString() throws Exception {
+        final ParameterFormatter unlimited = new ParameterFormatter(1000, 1000);
+        final Object[] array = {"a", 1, new int[]{1}, null};
+        final List<Object> list = Arrays.asList("a", Arrays.asList(1, 2), null);
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", list);
+
+        assertThat(unlimited.format(array)).isEqualTo(Arrays.toString(array));
+        assertThat(unlimited.format(list)).isEqualTo(list.toString());
+        assertThat(unlimited.format(map)).isEqualTo(map.toString());
+        assertThat(unlimited.format(null)).isEqualTo("null");
+        assertThat(unlimited.format(new int[]{1, 2})).isEqualTo("[1, 2]");
+    }
+
+    @Test
+    public void shouldNotLimitValuesByDefault() throws Exception {
+        final ParameterFormatter defaults = ParameterFormatter.fromProperties(new Properties());
+        final String value = String.join("", Collections.nCopies(10000, "a"));
+        final List<Integer> list = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        assertThat(defaults.format(value)).isEqualTo(value);
+        assertThat(defaults.format(list)).isEqualTo(list.toString());
+    }
+
+    @Test
+    public void shouldRenderPrimitiveArraysAsObjectsByDefault() throws Exception {
+        final byte[] bytes = {1, 2, 3};
+        final int[] ints = {1, 2, 3};
+
+        assertThat(ParameterFormatter.fromProperties(new Properties()).format(bytes))
+                .isEqualTo(String.valueOf(bytes));
+        assertThat(AspectUtils.objectToString(bytes)).isEqualTo(String.valueOf(bytes));
+        assertThat(AspectUtils.objectToString(ints)).isEqualTo(String.valueOf(ints));
+    }
+
+    @Test
+    public void shouldUseFormatterOfReloadedConfiguration() throws Exception {
+        System.setProperty(ParameterFormatter.MAX_LENGTH_PROPERTY, "5");
+        try {
+            AllureConfiguration.reload();
+            assertThat(ParameterFormatter.getDefault().format("abcdefgh")).isEqualTo("abcde...");
+        } finally {
+            System.clearProperty(ParameterFormatter.MAX_LENGTH_PROPERTY);
+            AllureConfiguration.reload();
+        }
+        assertThat(ParameterFormatter.getDefault().format("abcdefgh")).isEqualTo("abcdefgh");
+    }
+
+    @Test
+    public void shouldLimitNumberOfElements() throws Exception {
+        assertThat(formatter.format(new Object[]{1, 2, 3, 4, 5}))
+                .isEqualTo("[1, 2, 3, ...]");
+        assertThat(formatter.format(Arrays.asList(1, 2, 3, 4)))
+                .isEqualTo("[1, 2, 3, ...]");
+        assertThat(formatter.format(new long[]{1, 2, 3}))
+                .isEqualTo("[1, 2, 3]");
+    }
+
+    @Test
+    public void shouldTruncateLongValues() throws Exception {
+        final String value = IntStream.range(0, 100)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining());
+
+        assertThat(formatter.format(value))
+                .isEqualTo(value.substring(0, 20) + "...");
+        assertThat(formatter.format(Collections.singletonList(value)))
+                .isEqualTo("[" + value.substring(0, 19) + "...");
+    }
+
+    @Test
+    public void shouldRenderLazyParameters() throws Exception {
+        final StringBuilder argument = new StringBuilder("first");
+        final LazyParameter parameter = new LazyParameter("name", argument, formatter);
+        final StepResult step = new StepResult().withName("step");
+        step.getParameters().add(parameter);
+        final StepResult root = new StepResult().withSteps(step);
+
+        argument.append(" value");
+        LazyParameter.renderAll(root);
+        argument.append(" changed");
+
+        assertThat(parameter.getValue())
+                .isEqualTo("first value");
+    }
+}
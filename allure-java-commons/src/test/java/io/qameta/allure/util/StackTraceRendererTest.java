@@ -0,0 +1,61 @@
+package io.qameta.allure.util;
+
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StackTraceRendererTest {
+
+    @Test
+    public void shouldRenderSameTraceAsPrintStackTrace() {
+        final Throwable throwable = new IllegalStateException("outer", new AssertionError("inner"));
+        throwable.addSuppressed(new RuntimeException("suppressed"));
+        final StringWriter expected = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(expected));
+
+        final String trace = new StackTraceRenderer(Collections.emptyList()).render(throwable);
+
+        assertThat(trace).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void shouldOmitFilteredFrames() {
+        final Throwable throwable = new IllegalStateException("failure");
+        throwable.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("com.example.Test", "test", "Test.java", 10),
+                new StackTraceElement("sun.reflect.NativeMethodAccessorImpl", "invoke0", null, -2),
+                new StackTraceElement("sun.reflect.NativeMethodAccessorImpl", "invoke", null, 62),
+                new StackTraceElement("org.junit.runners.ParentRunner", "run", "ParentRunner.java", 363)
+        });
+
+        final String trace = new StackTraceRenderer(Collections.singletonList("sun.reflect.")).render(throwable);
+
+        assertThat(trace.split(System.lineSeparator())).containsExactly(
+                "java.lang.IllegalStateException: failure",
+                "\tat com.example.Test.test(Test.java:10)",
+                "\t... 2 filtered",
+                "\tat org.junit.runners.ParentRunner.run(ParentRunner.java:363)"
+        );
+    }
+
+    @Test
+    public void shouldRenderSharedThrowableOnce() {
+        final Throwable throwable = new AssertionError("failure");
+        final StackTraceRenderer renderer = new StackTraceRenderer(Collections.emptyList());
+        final StepResult step = new StepResult().withStatusDetails(new LazyStatusDetails(throwable, renderer));
+        final TestResult result = new TestResult().withStatusDetails(new LazyStatusDetails(throwable, renderer));
+        result.getSteps().add(step);
+
+        LazyStatusDetails.renderAll(result);
+
+        assertThat(result.getStatusDetails().getTrace())
+                .startsWith("java.lang.AssertionError: failure")
+                .isSameAs(step.getStatusDetails().getTrace());
+    }
+}
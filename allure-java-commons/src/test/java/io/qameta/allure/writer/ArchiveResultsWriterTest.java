@@ -0,0 +1,146 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.LazyParameter;
+import io.qameta.allure.util.LazyStatusDetails;
+import io.qameta.allure.util.ParameterFormatter;
+import io.qameta.allure.util.StackTraceRenderer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.AllureConstants.TEST_RESULT_CONTAINER_FILE_SUFFIX;
+import static io.qameta.allure.AllureConstants.TEST_RESULT_FILE_SUFFIX;
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ArchiveResultsWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldExtractArchivedResults() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final String uuid = randomString();
+        final String label = randomString();
+        final String containerUuid = randomString();
+        final TestResult result = new TestResult()
+                .withUuid(uuid)
+                .withLabels(new Label().withName("label").withValue(label));
+        final TestResultContainer container = new TestResultContainer()
+                .withUuid(containerUuid)
+                .withChildren(uuid);
+
+        final ArchiveResultsWriter writer = new ArchiveResultsWriter(directory, 1);
+        writer.write(result);
+        writer.write(container);
+        writer.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(2);
+        }
+
+        final Path results = folder.newFolder().toPath();
+        ArchiveResultsReader.extract(directory, results);
+
+        assertThat(read(results.resolve(uuid + TEST_RESULT_FILE_SUFFIX)))
+                .isEqualTo(json(result));
+        assertThat(read(results.resolve(containerUuid + TEST_RESULT_CONTAINER_FILE_SUFFIX)))
+                .isEqualTo(json(container));
+    }
+
+    @Test
+    public void shouldExtractArchivedAttachments() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final String source = randomString() + "-attachment.txt";
+        final String content = randomString();
+
+        try (ArchiveResultsWriter writer = new ArchiveResultsWriter(directory)) {
+            writer.write(source, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        final Path results = folder.newFolder().toPath();
+        ArchiveResultsReader.extract(directory, results);
+
+        assertThat(read(results.resolve(source)))
+                .isEqualTo(content);
+    }
+
+    @Test
+    public void shouldExtractArchivedLazyDetailsAndParameters() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final String uuid = randomString();
+        final String value = randomString();
+        final Exception exception = new IllegalStateException(randomString());
+
+        final StatusDetails details = new LazyStatusDetails(
+                exception, new StackTraceRenderer(Collections.emptyList())
+        ).withMessage(exception.getMessage());
+        final StepResult step = new StepResult()
+                .withName("step")
+                .withParameters(new LazyParameter("argument", value, new ParameterFormatter(100, 10, true)));
+        final TestResult result = new TestResult()
+                .withUuid(uuid)
+                .withStatus(Status.BROKEN)
+                .withStatusDetails(details)
+                .withSteps(step);
+
+        try (ArchiveResultsWriter writer = new ArchiveResultsWriter(directory)) {
+            writer.write(result);
+        }
+
+        final Path results = folder.newFolder().toPath();
+        ArchiveResultsReader.extract(directory, results);
+
+        assertThat(read(results.resolve(uuid + TEST_RESULT_FILE_SUFFIX)))
+                .contains("\"message\":\"" + exception.getMessage() + "\"")
+                .contains("\"trace\":\"" + IllegalStateException.class.getName())
+                .contains("{\"name\":\"argument\",\"value\":\"" + value + "\"}");
+    }
+
+    @Test
+    public void shouldRejectRecordsOutsideOfResultsDirectory() throws Exception {
+        final Path directory = folder.newFolder().toPath();
+        final Path results = folder.newFolder().toPath();
+
+        try (ArchiveResultsWriter writer = new ArchiveResultsWriter(directory)) {
+            writer.write("../outside-attachment.txt", new ByteArrayInputStream(new byte[]{1}));
+        }
+
+        assertThatThrownBy(() -> ArchiveResultsReader.extract(directory, results))
+                .isInstanceOf(IOException.class);
+        assertThat(results.resolveSibling("outside-attachment.txt")).doesNotExist();
+    }
+
+    private static String json(final TestResult result) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResultsJsonSerializer().write(result, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String json(final TestResultContainer container) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResultsJsonSerializer().write(container, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String read(final Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
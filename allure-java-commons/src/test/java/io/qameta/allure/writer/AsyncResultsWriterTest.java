@@ -0,0 +1,179 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.test.AllureResultsWriterStub;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncResultsWriterTest {
+
+    @Test
+    public void shouldWriteResultsOnFlush() throws Exception {
+        final AllureResultsWriterStub results = new AllureResultsWriterStub();
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(results)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(new TestResult().withUuid(randomString()));
+            }
+            writer.write(new TestResultContainer().withUuid(randomString()));
+            writer.flush();
+
+            assertThat(results.getTestResults())
+                    .hasSize(100);
+            assertThat(results.getTestContainers())
+                    .hasSize(1);
+        }
+    }
+
+    @Test
+    public void shouldWriteQueuedResultsOnClose() throws Exception {
+        final AllureResultsWriterStub results = new AllureResultsWriterStub();
+        final AsyncResultsWriter writer = new AsyncResultsWriter(results);
+        final String uuid = randomString();
+        writer.write(new TestResult().withUuid(uuid));
+        writer.close();
+
+        assertThat(results.getTestResults())
+                .extracting(TestResult::getUuid)
+                .containsExactly(uuid);
+    }
+
+    @Test
+    public void shouldRunCallbackAfterResultIsWritten() throws Exception {
+        final AllureResultsWriterStub results = new AllureResultsWriterStub();
+        final CountDownLatch written = new CountDownLatch(1);
+        final List<Integer> writtenOnCallback = new CopyOnWriteArrayList<>();
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(results)) {
+            writer.write(new TestResult().withUuid(randomString()), () -> {
+                writtenOnCallback.add(results.getTestResults().size());
+                written.countDown();
+            });
+            written.await();
+        }
+
+        assertThat(writtenOnCallback)
+                .containsExactly(1);
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldFlushWhenWriterThreadIsStopped() throws Exception {
+        final AllureResultsWriterStub results = new AllureResultsWriterStub() {
+            @Override
+            public void write(final TestResult testResult) {
+                if ("fatal".equals(testResult.getUuid())) {
+                    throw new AssertionError("writer thread failure");
+                }
+                super.write(testResult);
+            }
+        };
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(results)) {
+            writer.write(new TestResult().withUuid("fatal"));
+            writer.flush();
+            final String uuid = randomString();
+            writer.write(new TestResult().withUuid(uuid));
+
+            assertThat(results.getTestResults())
+                    .extracting(TestResult::getUuid)
+                    .containsExactly(uuid);
+        }
+    }
+
+    @Test
+    public void shouldCloseDelegateAfterQueuedResults() throws Exception {
+        final ClosingWriter results = new ClosingWriter();
+        final AsyncResultsWriter writer = new AsyncResultsWriter(results);
+        writer.write(new TestResult().withUuid(randomString()));
+        writer.write(new TestResult().withUuid(randomString()));
+        writer.close();
+
+        assertThat(results.writtenOnClose)
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDropResultsSubmittedAfterClose() throws Exception {
+        final ClosingWriter results = new ClosingWriter();
+        final AsyncResultsWriter writer = new AsyncResultsWriter(results);
+        writer.write(new TestResult().withUuid(randomString()));
+        writer.close();
+        writer.write(new TestResult().withUuid(randomString()));
+        writer.close();
+
+        assertThat(results.getTestResults())
+                .hasSize(1);
+        assertThat(results.closeCount)
+                .isEqualTo(1);
+        assertThat(writer.getDroppedCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDropResultsWhenQueueIsFull() throws Exception {
+        final BlockingWriter results = new BlockingWriter();
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(
+                results, 1, 1, AsyncResultsWriter.OverflowPolicy.DROP)) {
+            writer.write(new TestResult().withUuid(randomString()));
+            results.started.await();
+            writer.write(new TestResult().withUuid(randomString()));
+            writer.write(new TestResult().withUuid(randomString()));
+
+            assertThat(writer.getDroppedCount())
+                    .isEqualTo(1);
+            results.release.countDown();
+        }
+    }
+
+    /**
+     * Writer that blocks on the first result until released.
+     */
+    private static class BlockingWriter implements AllureResultsWriter {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(final TestResult testResult) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void write(final TestResultContainer testResultContainer) {
+            //do nothing
+        }
+
+        @Override
+        public void write(final String source, final InputStream attachment) {
+            //do nothing
+        }
+    }
+
+    /**
+     * Writer that remembers the number of results written before it is closed.
+     */
+    private static class ClosingWriter extends AllureResultsWriterStub implements AutoCloseable {
+
+        private int writtenOnClose = -1;
+
+        private int closeCount;
+
+        @Override
+        public void close() {
+            writtenOnClose = getTestResults().size();
+            closeCount++;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.qameta.allure.writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressingResultsWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldCompressLargeTextAttachments() throws Exception {
+        final Path output = folder.newFolder().toPath();
+        final String content = randomString() + randomString();
+        final String small = randomString().substring(0, 5);
+
+        final CompressingResultsWriter writer = new CompressingResultsWriter(output, false, 10);
+        writer.write("large-attachment.txt", file(content));
+        writer.write("small-attachment.txt", file(small));
+        writer.write("large-attachment.png", file(content));
+        writer.close();
+
+        assertThat(output.resolve("large-attachment.txt")).doesNotExist();
+        assertThat(decompress(output.resolve("large-attachment.txt.gz")))
+                .isEqualTo(content);
+        assertThat(output.resolve("small-attachment.txt")).exists();
+        assertThat(output.resolve("large-attachment.png")).exists();
+        assertThat(output.resolve("large-attachment.png.gz")).doesNotExist();
+    }
+
+    private Path file(final String content) throws Exception {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String decompress(final Path file) throws Exception {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read = input.read(buffer);
+            while (read >= 0) {
+                output.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
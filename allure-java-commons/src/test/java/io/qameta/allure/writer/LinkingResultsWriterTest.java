@@ -0,0 +1,103 @@
+package io.qameta.allure.writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.testdata.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LinkingResultsWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldCopyAttachmentFile() throws Exception {
+        final Path output = folder.newFolder().toPath();
+        final Path file = folder.newFile().toPath();
+        final String content = randomString();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        new LinkingResultsWriter(output).write("copy-attachment.txt", file);
+        Files.write(file, randomString().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new String(Files.readAllBytes(output.resolve("copy-attachment.txt")), StandardCharsets.UTF_8))
+                .isEqualTo(content);
+    }
+
+    @Test
+    public void shouldLinkAttachmentFile() throws Exception {
+        final Path output = folder.newFolder().toPath();
+        final Path file = folder.newFile().toPath();
+        final String content = randomString();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        new LinkingResultsWriter(output, true).write("link-attachment.txt", file);
+        Files.delete(file);
+
+        assertThat(new String(Files.readAllBytes(output.resolve("link-attachment.txt")), StandardCharsets.UTF_8))
+                .isEqualTo(content);
+    }
+
+    @Test
+    public void shouldPublishStreamedAttachmentOnClose() throws Exception {
+        final Path output = folder.newFolder().toPath();
+        final String content = randomString();
+        final Path target = output.resolve("stream-attachment.txt");
+
+        try (OutputStream stream = new LinkingResultsWriter(output).openAttachment("stream-attachment.txt")) {
+            stream.write(content.getBytes(StandardCharsets.UTF_8));
+            assertThat(target).doesNotExist();
+        }
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8))
+                .isEqualTo(content);
+        try (Stream<Path> files = Files.list(output)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void shouldReplaceExistingAttachments() throws Exception {
+        final Path output = folder.newFolder().toPath();
+        final Path file = folder.newFile().toPath();
+        final String content = randomString();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.write(output.resolve("stream-attachment.txt"), randomString().getBytes(StandardCharsets.UTF_8));
+        Files.write(output.resolve("copy-attachment.txt"), randomString().getBytes(StandardCharsets.UTF_8));
+        Files.write(output.resolve("link-attachment.txt"), randomString().getBytes(StandardCharsets.UTF_8));
+
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        new LinkingResultsWriter(output).write("stream-attachment.txt", new ByteArrayInputStream(bytes));
+        new LinkingResultsWriter(output).write("copy-attachment.txt", file);
+        new LinkingResultsWriter(output, true).write("link-attachment.txt", file);
+
+        assertThat(output.resolve("stream-attachment.txt")).hasContent(content);
+        assertThat(output.resolve("copy-attachment.txt")).hasContent(content);
+        assertThat(output.resolve("link-attachment.txt")).hasContent(content);
+        try (Stream<Path> files = Files.list(output)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void shouldMoveTemporaryFile() throws Exception {
+        final Path output = folder.newFolder().toPath();
+        final Path file = Files.createTempFile(output, "allure-", ".tmp");
+        final String content = randomString();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        new LinkingResultsWriter(output).move("moved-attachment.txt", file);
+
+        assertThat(file).doesNotExist();
+        assertThat(output.resolve("moved-attachment.txt")).hasContent(content);
+    }
+}
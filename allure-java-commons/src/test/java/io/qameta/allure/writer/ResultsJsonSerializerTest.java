@@ -0,0 +1,178 @@
+package io.qameta.allure.writer;
+
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Link;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static io.qameta.allure.AllureConstants.TEST_RESULT_CONTAINER_FILE_SUFFIX;
+import static io.qameta.allure.AllureConstants.TEST_RESULT_FILE_SUFFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultsJsonSerializerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldSerializeTestResult() throws Exception {
+        final TestResult result = new TestResult()
+                .withUuid("uuid")
+                .withName("name \"quoted\" \\ \n\u0001 \u00e9 \u4e2d \ud83d\ude00")
+                .withStatus(Status.FAILED)
+                .withStatusDetails(new StatusDetails().withMessage("message"))
+                .withStage(Stage.FINISHED)
+                .withStart(1L)
+                .withStop(2L);
+        result.getLabels().add(new Label().withName("suite").withValue("value"));
+        result.getSteps().add(new StepResult().withName("step"));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResultsJsonSerializer().write(result, out);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(
+                "{\"uuid\":\"uuid\",\"labels\":[{\"name\":\"suite\",\"value\":\"value\"}],"
+                        + "\"name\":\"name \\\"quoted\\\" \\\\ \\n\\u0001 \u00e9 \u4e2d \ud83d\ude00\","
+                        + "\"status\":\"failed\","
+                        + "\"statusDetails\":{\"known\":false,\"muted\":false,\"flaky\":false,\"message\":\"message\"},"
+                        + "\"stage\":\"finished\",\"start\":1,\"stop\":2,\"steps\":[{\"name\":\"step\"}]}"
+        );
+    }
+
+    @Test
+    public void shouldSerializeContainerToChannel() throws Exception {
+        final TestResultContainer container = new TestResultContainer()
+                .withUuid("uuid")
+                .withChildren("first", "second");
+        final Path file = folder.newFile().toPath();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            new ResultsJsonSerializer().write(container, channel);
+        }
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                .isEqualTo("{\"uuid\":\"uuid\",\"children\":[\"first\",\"second\"]}");
+    }
+
+    @Test
+    public void shouldWriteInitializedEmptyCollections() throws Exception {
+        final TestResult result = new TestResult().withUuid("uuid");
+        result.getAttachments();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResultsJsonSerializer().write(result, out);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"uuid\":\"uuid\",\"attachments\":[]}");
+    }
+
+    @Test
+    public void shouldWriteSameBytesAsFileSystemResultsWriter() throws Exception {
+        final TestResult result = new TestResult()
+                .withUuid("result-uuid")
+                .withHistoryId("history")
+                .withTestCaseId("test case")
+                .withRerunOf("rerun")
+                .withFullName("full name")
+                .withName("name \"quoted\" \t \u00e9 \u4e2d")
+                .withStatus(Status.BROKEN)
+                .withStatusDetails(new StatusDetails().withFlaky(true).withMessage("message").withTrace("trace"))
+                .withStage(Stage.FINISHED)
+                .withDescription("description")
+                .withLabels(new Label().withName("suite").withValue("value"))
+                .withLinks(new Link().withName("link").withUrl("url").withType("issue"))
+                .withAttachments(new Attachment().withName("attachment").withSource("source").withType("text/plain"))
+                .withParameters(new Parameter().withName("param").withValue("value"))
+                .withSteps(new StepResult().withName("step").withStatus(Status.PASSED).withStart(1L).withStop(2L))
+                .withStart(1L)
+                .withStop(3L);
+        result.getSteps().get(0).getSteps();
+        final TestResultContainer container = new TestResultContainer()
+                .withUuid("container-uuid")
+                .withName("container")
+                .withChildren("result-uuid")
+                .withDescription("container description")
+                .withBefores(new FixtureResult().withName("before").withStage(Stage.FINISHED))
+                .withStart(1L)
+                .withStop(3L);
+        container.getLinks();
+
+        final Path directory = folder.newFolder().toPath();
+        final FileSystemResultsWriter writer = new FileSystemResultsWriter(directory);
+        writer.write(result);
+        writer.write(container);
+
+        final ByteArrayOutputStream resultOut = new ByteArrayOutputStream();
+        new ResultsJsonSerializer().write(result, resultOut);
+        final ByteArrayOutputStream containerOut = new ByteArrayOutputStream();
+        new ResultsJsonSerializer().write(container, containerOut);
+
+        assertThat(resultOut.toByteArray())
+                .isEqualTo(Files.readAllBytes(directory.resolve("result-uuid" + TEST_RESULT_FILE_SUFFIX)));
+        assertThat(containerOut.toByteArray())
+                .isEqualTo(Files.readAllBytes(directory.resolve("container-uuid" + TEST_RESULT_CONTAINER_FILE_SUFFIX)));
+    }
+
+    @Test
+    public void shouldStreamResultsLargerThanBuffer() throws Exception {
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            name.append("a\u00e9\u4e2d\n");
+        }
+        final TestResult result = new TestResult().withUuid("uuid").withName(name.toString());
+        final String expected = "{\"uuid\":\"uuid\",\"name\":\""
+                + name.toString().replace("\n", "\\n") + "\"}";
+
+        final ChunksOutputStream out = new ChunksOutputStream();
+        new ResultsJsonSerializer().write(result, out);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(out.maxChunk).isLessThanOrEqualTo(16 * 1024);
+    }
+
+    /**
+     * Records the size of the largest chunk written.
+     */
+    private static class ChunksOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private int maxChunk;
+
+        @Override
+        public void write(final int b) throws IOException {
+            bytes.write(b);
+            maxChunk = Math.max(maxChunk, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            bytes.write(b, off, len);
+            maxChunk = Math.max(maxChunk, len);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
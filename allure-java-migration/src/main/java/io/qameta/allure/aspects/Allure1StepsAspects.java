@@ -15,11 +15,11 @@ import org.aspectj.lang.reflect.MethodSignature;
 import ru.yandex.qatools.allure.annotations.Step;
 
 import java.util.Objects;
-import java.util.UUID;
 import java.util.stream.IntStream;
 
 import static io.qameta.allure.aspects.Allure1Utils.getName;
 import static io.qameta.allure.aspects.Allure1Utils.getTitle;
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 
@@ -45,7 +45,7 @@ public class Allure1StepsAspects {
     @Before("anyMethod() && withStepAnnotation()")
     public void stepStart(final JoinPoint joinPoint) {
         final MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = generateId();
         final StepResult result = new StepResult()
                 .withName(createTitle(joinPoint))
                 .withParameters(getParameters(methodSignature, joinPoint.getArgs()));
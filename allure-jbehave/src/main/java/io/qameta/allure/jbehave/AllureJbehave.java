@@ -6,21 +6,19 @@ import io.qameta.allure.model.Stage;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.HistoryIds;
 import io.qameta.allure.util.ResultsUtils;
 import org.jbehave.core.model.Story;
 import org.jbehave.core.reporters.NullStoryReporter;
 
-import javax.xml.bind.DatatypeConverter;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.createStoryLabel;
 import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
@@ -30,14 +28,12 @@ import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
  */
 public class AllureJbehave extends NullStoryReporter {
 
-    private static final String MD_5 = "md5";
-
     private final AllureLifecycle lifecycle;
 
     private final ThreadLocal<Story> stories = new InheritableThreadLocal<>();
 
     private final ThreadLocal<String> scenarios
-            = InheritableThreadLocal.withInitial(() -> UUID.randomUUID().toString());
+            = InheritableThreadLocal.withInitial(() -> generateId());
 
     private final Map<String, Status> scenarioStatusStorage = new ConcurrentHashMap<>();
 
@@ -89,7 +85,7 @@ public class AllureJbehave extends NullStoryReporter {
 
     @Override
     public void beforeStep(final String step) {
-        final String stepUuid = UUID.randomUUID().toString();
+        final String stepUuid = generateId();
         getLifecycle().startStep(stepUuid, new StepResult().withName(step));
     }
 
@@ -134,17 +130,7 @@ public class AllureJbehave extends NullStoryReporter {
     }
 
     private String md5(final String string) {
-        return DatatypeConverter.printHexBinary(getMessageDigest()
-                .digest(string.getBytes(StandardCharsets.UTF_8))
-        );
-    }
-
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance(MD_5);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
+        return HistoryIds.hasher().update(string).toHex().toUpperCase(Locale.ENGLISH);
     }
 
     private Optional<Status> max(final Status first, final Status second) {
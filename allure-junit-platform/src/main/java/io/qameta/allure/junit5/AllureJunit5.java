@@ -7,6 +7,7 @@ import io.qameta.allure.model.Label;
 import io.qameta.allure.model.Stage;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.HistoryIds;
 import io.qameta.allure.util.ResultsUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.platform.engine.TestExecutionResult;
@@ -16,18 +17,14 @@ import org.junit.platform.launcher.TestIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.model.Status.FAILED;
 import static io.qameta.allure.model.Status.PASSED;
 import static io.qameta.allure.model.Status.SKIPPED;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author ehborisov
@@ -40,7 +37,7 @@ public class AllureJunit5 implements TestExecutionListener {
 
 
     private final ThreadLocal<String> tests
-            = InheritableThreadLocal.withInitial(() -> UUID.randomUUID().toString());
+            = InheritableThreadLocal.withInitial(() -> generateId());
 
     private final AllureLifecycle lifecycle;
 
@@ -122,20 +119,7 @@ public class AllureJunit5 implements TestExecutionListener {
     }
 
     protected String getHistoryId(final TestIdentifier testIdentifier) {
-        return md5(testIdentifier.getUniqueId());
-    }
-
-    private String md5(final String source) {
-        final byte[] bytes = getMessageDigest().digest(source.getBytes(UTF_8));
-        return new BigInteger(1, bytes).toString(16);
-    }
-
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance("md5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
+        return HistoryIds.md5(testIdentifier.getUniqueId());
     }
 
     private String getSuite(final MethodSource source) {
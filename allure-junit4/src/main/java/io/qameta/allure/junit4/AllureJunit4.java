@@ -12,6 +12,8 @@ import io.qameta.allure.model.Link;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.AnnotationMetadata;
+import io.qameta.allure.util.HistoryIds;
 import io.qameta.allure.util.ResultsUtils;
 import org.junit.Ignore;
 import org.junit.runner.Description;
@@ -22,24 +24,20 @@ import org.junit.runner.notification.RunListener;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static io.qameta.allure.util.ResultsUtils.getHostName;
+import static io.qameta.allure.id.IdGenerators.generateId;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
-import static io.qameta.allure.util.ResultsUtils.getThreadName;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 
 /**
  * Allure Junit4 listener.
@@ -53,7 +51,7 @@ public class AllureJunit4 extends RunListener {
     private final ThreadLocal<String> testCases = new InheritableThreadLocal<String>() {
         @Override
         protected String initialValue() {
-            return UUID.randomUUID().toString();
+            return generateId();
         }
     };
 
@@ -129,7 +127,7 @@ public class AllureJunit4 extends RunListener {
         final TestResult result = createTestResult(uuid, description);
         result.setStatus(Status.SKIPPED);
         result.setStatusDetails(getIgnoredMessage(description));
-        result.setStart(System.currentTimeMillis());
+        result.setStart(getLifecycle().getClock().currentTimeMillis());
 
         getLifecycle().scheduleTestCase(result);
         getLifecycle().stopTestCase(uuid);
@@ -147,12 +145,13 @@ public class AllureJunit4 extends RunListener {
     }
 
     private List<Link> getLinks(final Description result) {
+        final AnnotationMetadata onClass = getClassMetadata(result);
         return Stream.of(
-                getAnnotationsOnClass(result, io.qameta.allure.Link.class).stream().map(ResultsUtils::createLink),
+                onClass.getLinks(io.qameta.allure.Link.class).stream(),
                 getAnnotationsOnMethod(result, io.qameta.allure.Link.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnClass(result, io.qameta.allure.Issue.class).stream().map(ResultsUtils::createLink),
+                onClass.getLinks(io.qameta.allure.Issue.class).stream(),
                 getAnnotationsOnMethod(result, io.qameta.allure.Issue.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnClass(result, io.qameta.allure.TmsLink.class).stream().map(ResultsUtils::createLink),
+                onClass.getLinks(io.qameta.allure.TmsLink.class).stream(),
                 getAnnotationsOnMethod(result, io.qameta.allure.TmsLink.class).stream().map(ResultsUtils::createLink)
         ).reduce(Stream::concat).orElseGet(Stream::empty).collect(Collectors.toList());
     }
@@ -176,9 +175,13 @@ public class AllureJunit4 extends RunListener {
                 .collect(Collectors.toList());
 
         if (labelAnnotation.isAnnotationPresent(Repeatable.class) || labels.isEmpty()) {
-            final Stream<Label> onClassLabels = getAnnotationsOnClass(result, labelAnnotation).stream()
-                    .map(extractor);
-            labels.addAll(onClassLabels.collect(Collectors.toList()));
+            if (AnnotationMetadata.LABEL_ANNOTATIONS.contains(labelAnnotation)) {
+                labels.addAll(getClassMetadata(result).getLabels(labelAnnotation));
+            } else {
+                getAnnotationsOnClass(result, labelAnnotation).stream()
+                        .map(extractor)
+                        .forEach(labels::add);
+            }
         }
 
         return labels.stream();
@@ -215,6 +218,10 @@ public class AllureJunit4 extends RunListener {
         return Collections.emptyList();
     }
 
+    private AnnotationMetadata getClassMetadata(final Description result) {
+        return AnnotationMetadata.of(result.getTestClass(), null);
+    }
+
     private <T extends Annotation> List<T> getAnnotationsOnClass(final Description result, final Class<T> clazz) {
         return Stream.of(result)
                 .map(Description::getTestClass)
@@ -225,20 +232,10 @@ public class AllureJunit4 extends RunListener {
     }
 
     private String getHistoryId(final Description description) {
-        return md5(description.getClassName() + description.getMethodName());
-    }
-
-    private String md5(final String source) {
-        final byte[] bytes = getMessageDigest().digest(source.getBytes(UTF_8));
-        return new BigInteger(1, bytes).toString(16);
-    }
-
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance(MD_5);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
+        return HistoryIds.hasher()
+                .update(description.getClassName())
+                .update(String.valueOf(description.getMethodName()))
+                .toHistoryId();
     }
 
     private String getPackage(final Class<?> testClass) {
@@ -275,8 +272,8 @@ public class AllureJunit4 extends RunListener {
                         new Label().withName("testClass").withValue(className),
                         new Label().withName("testMethod").withValue(name),
                         new Label().withName("suite").withValue(suite),
-                        new Label().withName("host").withValue(getHostName()),
-                        new Label().withName("thread").withValue(getThreadName())
+                        createHostLabel(),
+                        createThreadLabel()
                 );
         testResult.getLabels().addAll(getLabels(description));
         getDisplayName(description).ifPresent(testResult::setName);
@@ -13,7 +13,8 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 
 import java.nio.charset.StandardCharsets;
-import java.util.UUID;
+
+import static io.qameta.allure.id.IdGenerators.generateId;
 
 /**
  * @author Artem Eroshenko.
@@ -46,7 +47,7 @@ public class AllureSelenide implements LogEventListener {
     @Override
     public void onEvent(final LogEvent event) {
         lifecycle.getCurrentTestCase().ifPresent(uuid -> {
-            final String stepUUID = UUID.randomUUID().toString();
+            final String stepUUID = generateId();
             lifecycle.startStep(stepUUID, new StepResult()
                     .withName(event.toString())
                     .withStatus(Status.PASSED));
@@ -18,6 +18,7 @@ import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.HistoryIds;
 import io.qameta.allure.util.ResultsUtils;
 import org.junit.runner.Description;
 import org.spockframework.runtime.AbstractRunListener;
@@ -30,26 +31,22 @@ import org.spockframework.runtime.model.SpecInfo;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.ResultsUtils.firstNonEmpty;
-import static io.qameta.allure.util.ResultsUtils.getHostName;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
-import static io.qameta.allure.util.ResultsUtils.getThreadName;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static java.util.Comparator.comparing;
 
 
@@ -64,10 +61,8 @@ import static java.util.Comparator.comparing;
 })
 public class AllureSpock extends AbstractRunListener implements IGlobalExtension {
 
-    private static final String MD_5 = "md5";
-
     private final ThreadLocal<String> testResults
-            = InheritableThreadLocal.withInitial(() -> UUID.randomUUID().toString());
+            = InheritableThreadLocal.withInitial(() -> generateId());
 
     private AllureLifecycle lifecycle;
 
@@ -116,8 +111,8 @@ public class AllureSpock extends AbstractRunListener implements IGlobalExtension
                 //xUnit grouping
                 new Label().withName("suite").withValue(specName),
                 //Timeline grouping
-                new Label().withName("host").withValue(getHostName()),
-                new Label().withName("thread").withValue(getThreadName())
+                createHostLabel(),
+                createThreadLabel()
         ));
         if (Objects.nonNull(subSpec)) {
             labels.add(new Label().withName("subSuite").withValue(subSpec.getName()));
@@ -181,24 +176,11 @@ public class AllureSpock extends AbstractRunListener implements IGlobalExtension
     }
 
     private String getHistoryId(final String name, final List<Parameter> parameters) {
-        final MessageDigest digest = getMessageDigest();
-        digest.update(name.getBytes(UTF_8));
+        final HistoryIds.Hasher hasher = HistoryIds.hasher().update(name);
         parameters.stream()
                 .sorted(comparing(Parameter::getName).thenComparing(Parameter::getValue))
-                .forEachOrdered(parameter -> {
-                    digest.update(parameter.getName().getBytes(UTF_8));
-                    digest.update(parameter.getValue().getBytes(UTF_8));
-                });
-        final byte[] bytes = digest.digest();
-        return new BigInteger(1, bytes).toString(16);
-    }
-
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance(MD_5);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
+                .forEachOrdered(parameter -> hasher.update(parameter.getName()).update(parameter.getValue()));
+        return hasher.toHistoryId();
     }
 
     private boolean isFlaky(final IterationInfo iteration) {
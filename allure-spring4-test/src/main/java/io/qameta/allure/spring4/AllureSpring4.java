@@ -2,39 +2,28 @@ package io.qameta.allure.spring4;
 
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
-import io.qameta.allure.Epic;
-import io.qameta.allure.Feature;
-import io.qameta.allure.Issue;
-import io.qameta.allure.Owner;
-import io.qameta.allure.Severity;
-import io.qameta.allure.Story;
-import io.qameta.allure.TmsLink;
 import io.qameta.allure.model.Label;
 import io.qameta.allure.model.Link;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
-import io.qameta.allure.util.ResultsUtils;
+import io.qameta.allure.util.AnnotationMetadata;
+import io.qameta.allure.util.HistoryIds;
 import org.springframework.test.context.TestContext;
 import org.springframework.test.context.TestExecutionListener;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static io.qameta.allure.util.ResultsUtils.getHostName;
+import static io.qameta.allure.id.IdGenerators.generateId;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
-import static io.qameta.allure.util.ResultsUtils.getThreadName;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -42,10 +31,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 @SuppressWarnings("PMD.ExcessiveImports")
 public class AllureSpring4 implements TestExecutionListener {
 
-    private static final String MD_5 = "md5";
-
     private final ThreadLocal<String> testCases
-            = InheritableThreadLocal.withInitial(() -> UUID.randomUUID().toString());
+            = InheritableThreadLocal.withInitial(() -> generateId());
 
     private final AllureLifecycle lifecycle;
 
@@ -83,8 +70,8 @@ public class AllureSpring4 implements TestExecutionListener {
 
                         new Label().withName("suite").withValue(testClass.getName()),
 
-                        new Label().withName("host").withValue(getHostName()),
-                        new Label().withName("thread").withValue(getThreadName())
+                        createHostLabel(),
+                        createThreadLabel()
                 );
 
         result.getLabels().addAll(getLabels(testClass, testMethod));
@@ -126,48 +113,28 @@ public class AllureSpring4 implements TestExecutionListener {
     }
 
     private List<Link> getLinks(final Class<?> testClass, final Method testMethod) {
-        return Stream.of(
-                getAnnotations(testClass, testMethod, io.qameta.allure.Link.class).map(ResultsUtils::createLink),
-                getAnnotations(testClass, testMethod, Issue.class).map(ResultsUtils::createLink),
-                getAnnotations(testClass, testMethod, TmsLink.class).map(ResultsUtils::createLink)
-        ).reduce(Stream::concat).orElseGet(Stream::empty).collect(Collectors.toList());
+        final AnnotationMetadata onClass = AnnotationMetadata.of(testClass);
+        final AnnotationMetadata onMethod = AnnotationMetadata.of(testMethod);
+        return AnnotationMetadata.LINK_ANNOTATIONS.stream()
+                .flatMap(type -> Stream.concat(onClass.getLinks(type).stream(), onMethod.getLinks(type).stream()))
+                .collect(Collectors.toList());
     }
 
     private List<Label> getLabels(final Class<?> testClass, final Method testMethod) {
-        return Stream.of(
-                getAnnotations(testClass, testMethod, Epic.class).map(ResultsUtils::createLabel),
-                getAnnotations(testClass, testMethod, Feature.class).map(ResultsUtils::createLabel),
-                getAnnotations(testClass, testMethod, Story.class).map(ResultsUtils::createLabel),
-                getAnnotations(testClass, testMethod, Severity.class).map(ResultsUtils::createLabel),
-                getAnnotations(testClass, testMethod, Owner.class).map(ResultsUtils::createLabel)
-        ).reduce(Stream::concat).orElseGet(Stream::empty).collect(Collectors.toList());
-    }
-
-    private <T extends Annotation> Stream<T> getAnnotations(
-            final Class<?> testClass, final Method testMethod, final Class<T> annotation) {
-        return Stream.of(annotation)
-                .flatMap(clazz -> Stream.concat(
-                        Stream.of(testClass.getAnnotationsByType(clazz)),
-                        Stream.of(testMethod.getAnnotationsByType(clazz)))
-                );
+        final AnnotationMetadata onClass = AnnotationMetadata.of(testClass);
+        final AnnotationMetadata onMethod = AnnotationMetadata.of(testMethod);
+        return AnnotationMetadata.LABEL_ANNOTATIONS.stream()
+                .flatMap(type -> Stream.concat(onClass.getLabels(type).stream(), onMethod.getLabels(type).stream()))
+                .collect(Collectors.toList());
     }
 
     private String getHistoryId(final Class<?> testClass, final Method testMethod) {
-        final MessageDigest digest = getMessageDigest();
-        digest.update(testClass.getCanonicalName().getBytes(UTF_8));
-        digest.update(testMethod.getName().getBytes(UTF_8));
+        final HistoryIds.Hasher hasher = HistoryIds.hasher()
+                .update(testClass.getCanonicalName())
+                .update(testMethod.getName());
         Stream.of(testMethod.getParameterTypes())
                 .map(Class::getCanonicalName)
-                .map(name -> name.getBytes(UTF_8))
-                .forEach(digest::update);
-        return new BigInteger(1, digest.digest()).toString(16);
-    }
-
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance(MD_5);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
+                .forEach(hasher::update);
+        return hasher.toHistoryId();
     }
 }
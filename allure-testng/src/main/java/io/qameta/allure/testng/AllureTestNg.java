@@ -2,13 +2,6 @@ package io.qameta.allure.testng;
 
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
-import io.qameta.allure.Epic;
-import io.qameta.allure.Feature;
-import io.qameta.allure.Flaky;
-import io.qameta.allure.Muted;
-import io.qameta.allure.Owner;
-import io.qameta.allure.Severity;
-import io.qameta.allure.Story;
 import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.Label;
 import io.qameta.allure.model.Link;
@@ -18,6 +11,9 @@ import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.AnnotationMetadata;
+import io.qameta.allure.util.AspectUtils;
+import io.qameta.allure.util.HistoryIds;
 import io.qameta.allure.util.ResultsUtils;
 import org.testng.IAttributes;
 import org.testng.IClass;
@@ -34,31 +30,26 @@ import org.testng.internal.ConstructorOrMethod;
 import org.testng.xml.XmlSuite;
 import org.testng.xml.XmlTest;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Executable;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.qameta.allure.id.IdGenerators.generateId;
 import static io.qameta.allure.util.ResultsUtils.firstNonEmpty;
-import static io.qameta.allure.util.ResultsUtils.getHostName;
+import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
-import static io.qameta.allure.util.ResultsUtils.getThreadName;
+import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static io.qameta.allure.util.ResultsUtils.processDescription;
 import static java.lang.Math.min;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Comparator.comparing;
 import static java.util.stream.IntStream.range;
 
@@ -72,7 +63,6 @@ import static java.util.stream.IntStream.range;
 public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMethodListener2 {
 
     private static final String ALLURE_UUID = "ALLURE_UUID";
-    private static final String MD_5 = "md5";
 
     /**
      * Store current testng result uuid to attach before/after methods into.
@@ -90,7 +80,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
     private final ThreadLocal<String> currentTestContainer = new InheritableThreadLocal<String>() {
         @Override
         protected String initialValue() {
-            return UUID.randomUUID().toString();
+            return generateId();
         }
     };
 
@@ -100,7 +90,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
     private final ThreadLocal<String> currentExecutable = new InheritableThreadLocal<String>() {
         @Override
         protected String initialValue() {
-            return UUID.randomUUID().toString();
+            return generateId();
         }
     };
 
@@ -128,7 +118,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
         final TestResultContainer result = new TestResultContainer()
                 .withUuid(getUniqueUuid(suite))
                 .withName(suite.getName())
-                .withStart(System.currentTimeMillis());
+                .withStart(getLifecycle().getClock().currentTimeMillis());
         getLifecycle().startTestContainer(result);
     }
 
@@ -139,7 +129,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
         final TestResultContainer container = new TestResultContainer()
                 .withUuid(uuid)
                 .withName(context.getName())
-                .withStart(System.currentTimeMillis());
+                .withStart(getLifecycle().getClock().currentTimeMillis());
         getLifecycle().startTestContainer(parentUuid, container);
 
         Stream.of(context.getAllTestMethods())
@@ -169,7 +159,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
     }
 
     public void onBeforeClass(final ITestClass testClass) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = generateId();
         final TestResultContainer container = new TestResultContainer()
                 .withUuid(uuid)
                 .withName(testClass.getName());
@@ -210,8 +200,8 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
                 new Label().withName("subSuite").withValue(safeExtractTestClassName(testClass)),
 
                 //Timeline grouping
-                new Label().withName("host").withValue(getHostName()),
-                new Label().withName("thread").withValue(getThreadName())
+                createHostLabel(),
+                createThreadLabel()
         ));
         labels.addAll(getLabels(testResult));
         final List<Parameter> parameters = getParameters(testResult);
@@ -381,7 +371,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
         final TestResultContainer container = new TestResultContainer()
                 .withUuid(parentUuid)
                 .withName(getQualifiedName(method))
-                .withStart(System.currentTimeMillis())
+                .withStart(getLifecycle().getClock().currentTimeMillis())
                 .withDescription(method.getDescription())
                 .withChildren(current.getUuid());
         getLifecycle().startTestContainer(container);
@@ -395,7 +385,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
     private FixtureResult getFixtureResult(final ITestNGMethod method) {
         final FixtureResult fixtureResult = new FixtureResult()
                 .withName(getMethodName(method))
-                .withStart(System.currentTimeMillis())
+                .withStart(getLifecycle().getClock().currentTimeMillis())
                 .withDescription(method.getDescription())
                 .withStage(Stage.RUNNING);
         processDescription(getClass().getClassLoader(), method.getConstructorOrMethod().getMethod(), fixtureResult);
@@ -434,19 +424,13 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
     }
 
     protected String getHistoryId(final ITestNGMethod method, final List<Parameter> parameters) {
-        final MessageDigest digest = getMessageDigest();
-        final String testClassName = method.getTestClass().getName();
-        final String methodName = method.getMethodName();
-        digest.update(testClassName.getBytes(UTF_8));
-        digest.update(methodName.getBytes(UTF_8));
+        final HistoryIds.Hasher hasher = HistoryIds.hasher()
+                .update(method.getTestClass().getName())
+                .update(method.getMethodName());
         parameters.stream()
                 .sorted(comparing(Parameter::getName).thenComparing(Parameter::getValue))
-                .forEachOrdered(parameter -> {
-                    digest.update(parameter.getName().getBytes(UTF_8));
-                    digest.update(parameter.getValue().getBytes(UTF_8));
-                });
-        final byte[] bytes = digest.digest();
-        return new BigInteger(1, bytes).toString(16);
+                .forEachOrdered(parameter -> hasher.update(parameter.getName()).update(parameter.getValue()));
+        return hasher.toHistoryId();
     }
 
     protected Status getStatus(final Throwable throwable) {
@@ -470,77 +454,30 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
     }
 
     private List<Label> getLabels(final ITestResult result) {
-        return Stream.of(
-                getLabels(result, Epic.class, ResultsUtils::createLabel),
-                getLabels(result, Feature.class, ResultsUtils::createLabel),
-                getLabels(result, Story.class, ResultsUtils::createLabel),
-                getLabels(result, Severity.class, ResultsUtils::createLabel),
-                getLabels(result, Owner.class, ResultsUtils::createLabel)
-        ).reduce(Stream::concat).orElseGet(Stream::empty).collect(Collectors.toList());
-    }
-
-    private <T extends Annotation> Stream<Label> getLabels(final ITestResult result, final Class<T> clazz,
-                                                           final Function<T, Label> extractor) {
-        final List<Label> onMethod = getAnnotationsOnMethod(result, clazz).stream()
-                .map(extractor)
-                .collect(Collectors.toList());
-        if (!onMethod.isEmpty()) {
-            return onMethod.stream();
-        }
-        return getAnnotationsOnClass(result, clazz).stream()
-                .map(extractor);
+        return new ArrayList<>(getMetadata(result).getLabels());
     }
 
     private List<Link> getLinks(final ITestResult result) {
-        return Stream.of(
-                getAnnotationsOnClass(result, io.qameta.allure.Link.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnMethod(result, io.qameta.allure.Link.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnClass(result, io.qameta.allure.Issue.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnMethod(result, io.qameta.allure.Issue.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnClass(result, io.qameta.allure.TmsLink.class).stream().map(ResultsUtils::createLink),
-                getAnnotationsOnMethod(result, io.qameta.allure.TmsLink.class).stream().map(ResultsUtils::createLink)
-        ).reduce(Stream::concat).orElseGet(Stream::empty).collect(Collectors.toList());
+        return new ArrayList<>(getMetadata(result).getLinks());
     }
 
     private boolean isFlaky(final ITestResult result) {
-        return hasAnnotation(result, Flaky.class);
+        return getMetadata(result).isFlaky();
     }
 
     private boolean isMuted(final ITestResult result) {
-        return hasAnnotation(result, Muted.class);
-    }
-
-    private boolean hasAnnotation(final ITestResult result, final Class<? extends Annotation> clazz) {
-        return hasAnnotationOnMethod(result, clazz) || hasAnnotationOnClass(result, clazz);
-    }
-
-    private boolean hasAnnotationOnClass(final ITestResult result, final Class<? extends Annotation> clazz) {
-        return !getAnnotationsOnClass(result, clazz).isEmpty();
+        return getMetadata(result).isMuted();
     }
 
-    private boolean hasAnnotationOnMethod(final ITestResult result, final Class<? extends Annotation> clazz) {
-        return !getAnnotationsOnMethod(result, clazz).isEmpty();
-    }
-
-    private <T extends Annotation> List<T> getAnnotationsOnMethod(final ITestResult result, final Class<T> clazz) {
-        return Stream.of(result)
-                .map(ITestResult::getMethod)
-                .filter(Objects::nonNull)
+    private AnnotationMetadata getMetadata(final ITestResult result) {
+        final Class<?> testClass = Optional.ofNullable(result.getTestClass())
+                .map(IClass::getRealClass)
+                .orElse(null);
+        final Method method = Optional.ofNullable(result.getMethod())
                 .map(ITestNGMethod::getConstructorOrMethod)
                 .map(ConstructorOrMethod::getMethod)
-                .flatMap(method -> Stream.of(method.getAnnotationsByType(clazz)))
-                .collect(Collectors.toList());
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T extends Annotation> List<T> getAnnotationsOnClass(final ITestResult result, final Class<T> clazz) {
-        return Stream.of(result)
-                .map(ITestResult::getTestClass)
-                .filter(Objects::nonNull)
-                .map(IClass::getRealClass)
-                .flatMap(aClass -> Stream.of(aClass.getAnnotationsByType(clazz)))
-                .map(clazz::cast)
-                .collect(Collectors.toList());
+                .orElse(null);
+        return AnnotationMetadata.of(testClass, method);
     }
 
     /**
@@ -548,19 +485,11 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
      */
     private String getUniqueUuid(final IAttributes suite) {
         if (Objects.isNull(suite.getAttribute(ALLURE_UUID))) {
-            suite.setAttribute(ALLURE_UUID, UUID.randomUUID().toString());
+            suite.setAttribute(ALLURE_UUID, generateId());
         }
         return Objects.toString(suite.getAttribute(ALLURE_UUID));
     }
 
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance(MD_5);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
-    }
-
     private static String safeExtractSuiteName(final ITestClass testClass) {
         final Optional<XmlTest> xmlTest = Optional.ofNullable(testClass.getXmlTest());
         return xmlTest.map(XmlTest::getSuite).map(XmlSuite::getName).orElse("Undefined suite");
@@ -590,7 +519,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
                 .map(java.lang.reflect.Parameter::getName)
                 .toArray(String[]::new);
         final String[] parameterValues = Stream.of(testResult.getParameters())
-                .map(this::convertParameterValueToString)
+                .map(AspectUtils::objectToString)
                 .toArray(String[]::new);
         final Stream<Parameter> methodParameters = range(0, min(parameterNames.length, parameterValues.length))
                 .mapToObj(i -> new Parameter().withName(parameterNames[i]).withValue(parameterValues[i]));
@@ -598,13 +527,6 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
                 .collect(Collectors.toList());
     }
 
-    private String convertParameterValueToString(final Object parameter) {
-        if (Objects.nonNull(parameter) && parameter.getClass().isArray()) {
-            return Arrays.toString((Object[]) parameter);
-        }
-        return Objects.toString(parameter);
-    }
-
     private String getMethodName(final ITestNGMethod method) {
         return firstNonEmpty(
                 method.getDescription(),
@@ -639,7 +561,7 @@ public class AllureTestNg implements ISuiteListener, ITestListener, IInvokedMeth
         private CurrentStage currentStage;
 
         Current() {
-            this.uuid = UUID.randomUUID().toString();
+            this.uuid = generateId();
             this.currentStage = CurrentStage.BEFORE;
         }
 
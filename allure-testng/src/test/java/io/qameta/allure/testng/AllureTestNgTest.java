@@ -21,6 +21,7 @@ import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.test.AllureResultsWriterStub;
+import io.qameta.allure.util.AllureConfiguration;
 import org.assertj.core.api.Condition;
 import org.assertj.core.groups.Tuple;
 import org.testng.ITestNGListener;
@@ -135,6 +136,7 @@ public class AllureTestNgTest {
         if (!Boolean.parseBoolean(initialSeparateLines)) {
             System.setProperty(ALLURE_SEPARATE_LINES_SYSPROP, "true");
         }
+        AllureConfiguration.reload();
         try {
             final String testDescription = "Sample test description<br /> - next line<br /> - another line<br />";
             runTestNgSuites("suites/descriptions-test.xml");
@@ -148,6 +150,7 @@ public class AllureTestNgTest {
                     .contains(testDescription);
         } finally {
             System.setProperty(ALLURE_SEPARATE_LINES_SYSPROP, String.valueOf(initialSeparateLines));
+            AllureConfiguration.reload();
         }
     }
 